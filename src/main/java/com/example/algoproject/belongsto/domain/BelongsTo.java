@@ -10,6 +10,8 @@ import javax.persistence.*;
 @NoArgsConstructor
 @Getter
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_belongs_to_study_user", columnNames = {"study_id", "user_id"}),
+        indexes = @Index(name = "idx_belongs_to_user", columnList = "user_id"))
 public class BelongsTo {
 
     @Id
@@ -19,11 +21,11 @@ public class BelongsTo {
     // 컨트리뷰터 초대의 수락 여부
     private boolean accepted;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User member;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "study_id")
     private Study study;
 
@@ -3,12 +3,35 @@ package com.example.algoproject.belongsto.repository;
 import com.example.algoproject.belongsto.domain.BelongsTo;
 import com.example.algoproject.study.domain.Study;
 import com.example.algoproject.user.domain.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface BelongsToRepository extends JpaRepository<BelongsTo, Long> {
+    // 멤버 목록을 보여줄 때 쓰므로 유저를 같이 가져온다
+    @EntityGraph(attributePaths = "member")
     List<BelongsTo> findByStudy(Study study);
 
     List<BelongsTo> findByMember(User user);
+
+    Optional<BelongsTo> findByStudy_StudyIdAndMember_Id(String studyId, String memberId);
+
+    boolean existsByStudy_StudyIdAndMember_Id(String studyId, String memberId);
+
+    // 주어진 유저들 중 이미 스터디 멤버인 유저의 id
+    @Query("select b.member.id from BelongsTo b where b.study.studyId = :studyId and b.member.id in :memberIds")
+    List<String> findMemberIds(@Param("studyId") String studyId, @Param("memberIds") Collection<String> memberIds);
+
+    // 유저가 속한 스터디 목록. 스터디와 유저를 한 번에 가져온다
+    @Query("select b from BelongsTo b join fetch b.study join fetch b.member where b.member.id = :memberId order by b.id")
+    List<BelongsTo> findWithStudyByMemberId(@Param("memberId") String memberId);
+
+    // 여러 스터디의 팀원 목록을 한 번에 가져온다
+    @Query("select b from BelongsTo b join fetch b.study join fetch b.member where b.study.studyId in :studyIds order by b.id")
+    List<BelongsTo> findWithMemberByStudyIds(@Param("studyIds") Collection<String> studyIds);
 }
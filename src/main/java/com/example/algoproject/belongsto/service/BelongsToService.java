@@ -3,13 +3,15 @@ package com.example.algoproject.belongsto.service;
 import com.example.algoproject.belongsto.domain.BelongsTo;
 import com.example.algoproject.belongsto.repository.BelongsToRepository;
 import com.example.algoproject.study.domain.Study;
-import com.example.algoproject.user.domain.User;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -23,18 +25,59 @@ public class BelongsToService {
         belongsToRepository.save(belongsTo);
     }
 
+    @Transactional
+    public void saveAll(List<BelongsTo> belongs) {
+        belongsToRepository.saveAll(belongs);
+    }
+
     @Transactional
     public List<BelongsTo> findByStudy(Study study) {
         return belongsToRepository.findByStudy(study);
     }
 
     @Transactional
-    public List<BelongsTo> findByMember(User user) {
-        return belongsToRepository.findByMember(user);
+    public boolean isMember(String studyId, String memberId) {
+        return belongsToRepository.existsByStudy_StudyIdAndMember_Id(studyId, memberId);
+    }
+
+    @Transactional
+    public Set<String> findMemberIds(String studyId, Collection<String> memberIds) {
+        if (memberIds.isEmpty())
+            return new HashSet<>();
+        return new HashSet<>(belongsToRepository.findMemberIds(studyId, memberIds));
+    }
+
+    @Transactional
+    public List<BelongsTo> findByMemberId(String memberId) {
+        return belongsToRepository.findWithStudyByMemberId(memberId);
+    }
+
+    @Transactional
+    public List<BelongsTo> findByStudyIds(Collection<String> studyIds) {
+        if (studyIds.isEmpty())
+            return List.of();
+        return belongsToRepository.findWithMemberByStudyIds(studyIds);
     }
 
     @Transactional
     public void deleteByStudy(Study study) {
         belongsToRepository.deleteAll(findByStudy(study));
     }
+
+    // github 에서 초대를 수락한 경우 (webhook)
+    @Transactional
+    public void acceptInvitation(String studyId, String memberId) {
+        belongsToRepository.findByStudy_StudyIdAndMember_Id(studyId, memberId).ifPresent(belongsTo -> {
+            belongsTo.acceptInvitation();
+            log.info("member " + memberId + " accepted invitation of study " + studyId);
+        });
+    }
+
+    // github 에서 collaborator 가 제거된 경우 (webhook). 팀장은 제거하지 않는다
+    @Transactional
+    public void deleteMember(String studyId, String memberId) {
+        belongsToRepository.findByStudy_StudyIdAndMember_Id(studyId, memberId)
+                .filter(belongsTo -> !belongsTo.getStudy().getLeaderId().equals(memberId))
+                .ifPresent(belongsToRepository::delete);
+    }
 }
@@ -0,0 +1,164 @@
+package com.example.algoproject.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.List;
+
+/*
+ * hibernate DDL (ddl-auto) 로 만들어진 DB 는 V1 을 baseline 으로 잡기 때문에 V1 이 실행되지 않는다.
+ * 그런 DB 는 마지막으로 배포된 버전의 엔티티에 따라 V1 과 다를 수 있어서 (code, read_me 가 varchar(255), job, webhook, refresh token 테이블 없음 등)
+ * V2 를 적용하기 전에 없는 테이블, 컬럼을 V1 과 같게 만든다. V1 로 만든 DB 에서는 아무것도 하지 않는다.
+ * MySQL 에는 add column if not exists 가 없어서 metadata 를 보고 필요한 DDL 만 실행한다.
+ * version 을 클래스 이름 (V1_1__...) 대신 getVersion() 으로 정하려고 BaseJavaMigration 을 쓰지 않는다.
+ */
+@Slf4j
+@Component
+public class DdlAutoSchemaMigration implements JavaMigration {
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("1.1");
+    }
+
+    @Override
+    public String getDescription() {
+        return "align ddl auto schema";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean isUndo() {
+        return false;
+    }
+
+    @Override
+    public boolean isBaselineMigration() {
+        return false;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        DatabaseMetaData metaData = connection.getMetaData();
+
+        try (Statement statement = connection.createStatement()) {
+            if (!hasColumn(metaData, "study", "sync_status"))
+                execute(statement, "alter table study add column sync_status varchar(255)");
+            if (!hasColumn(metaData, "solution", "sync_status"))
+                execute(statement, "alter table solution add column sync_status varchar(255)");
+
+            // ddl-auto 는 String 을 varchar(255) 로 만들었다. 긴 풀이가 잘리지 않도록 V1 처럼 longtext 로 바꾼다
+            for (String column : List.of("code", "read_me"))
+                if (isVarchar255(metaData, "solution", column))
+                    execute(statement, "alter table solution modify " + column + " longtext");
+
+            if (!hasTable(metaData, "solution_file")) {
+                execute(statement, """
+                        create table solution_file (
+                            solution_id bigint not null,
+                            blob_sha varchar(255),
+                            path varchar(255) not null,
+                            primary key (solution_id, path)
+                        ) engine=InnoDB""");
+                execute(statement, "alter table solution_file add constraint FKjwc26ehne0g7xa82n0iemsncb foreign key (solution_id) references solution (solution_id)");
+            }
+
+            if (!hasTable(metaData, "git_hub_job"))
+                execute(statement, """
+                        create table git_hub_job (
+                            job_id bigint not null auto_increment,
+                            attempts integer not null,
+                            created_time datetime(6),
+                            last_error varchar(1000),
+                            locked_until datetime(6),
+                            next_run_at datetime(6),
+                            payload varchar(2000),
+                            status varchar(255),
+                            target_id varchar(255),
+                            type varchar(255),
+                            updated_time datetime(6),
+                            primary key (job_id)
+                        ) engine=InnoDB""");
+
+            if (!hasTable(metaData, "webhook_delivery"))
+                execute(statement, """
+                        create table webhook_delivery (
+                            delivery_id varchar(255) not null,
+                            event varchar(255),
+                            received_time datetime(6),
+                            primary key (delivery_id)
+                        ) engine=InnoDB""");
+
+            if (!hasTable(metaData, "refresh_token")) {
+                execute(statement, """
+                        create table refresh_token (
+                            refresh_token_id bigint not null auto_increment,
+                            created_time datetime(6),
+                            expires_at datetime(6),
+                            family_id varchar(36) not null,
+                            revoked bit not null,
+                            token_hash varchar(64) not null,
+                            user_id varchar(255) not null,
+                            primary key (refresh_token_id)
+                        ) engine=InnoDB""");
+                execute(statement, "create index idx_refresh_token_family on refresh_token (family_id)");
+                execute(statement, "alter table refresh_token add constraint UK_kdj16cltjxdksuyiosdhliveg unique (token_hash)");
+            }
+        }
+    }
+
+    //
+    // private
+    //
+
+    private void execute(Statement statement, String sql) throws SQLException {
+        log.info("align ddl auto schema: " + sql.lines().findFirst().orElse(sql));
+        statement.execute(sql);
+    }
+
+    private boolean hasTable(DatabaseMetaData metaData, String table) throws SQLException {
+        try (ResultSet tables = metaData.getTables(metaData.getConnection().getCatalog(), null, identifier(metaData, table), null)) {
+            return tables.next();
+        }
+    }
+
+    private boolean hasColumn(DatabaseMetaData metaData, String table, String column) throws SQLException {
+        try (ResultSet columns = columns(metaData, table, column)) {
+            return columns.next();
+        }
+    }
+
+    private boolean isVarchar255(DatabaseMetaData metaData, String table, String column) throws SQLException {
+        try (ResultSet columns = columns(metaData, table, column)) {
+            return columns.next() && columns.getInt("DATA_TYPE") == Types.VARCHAR && columns.getInt("COLUMN_SIZE") <= 255;
+        }
+    }
+
+    private ResultSet columns(DatabaseMetaData metaData, String table, String column) throws SQLException {
+        return metaData.getColumns(metaData.getConnection().getCatalog(), null, identifier(metaData, table), identifier(metaData, column));
+    }
+
+    // MySQL 은 소문자, H2 (테스트) 는 대문자로 저장한다
+    private String identifier(DatabaseMetaData metaData, String name) throws SQLException {
+        return metaData.storesUpperCaseIdentifiers() ? name.toUpperCase() : name;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.algoproject.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/*
+ * 스키마는 src/main/resources/db/migration 의 migration 으로 관리한다.
+ * hibernate DDL 로 이미 테이블이 만들어진 DB 는 V1 을 baseline 으로 잡는다.
+ * 그런 DB 가 V1 과 다른 부분은 V1.1 (DdlAutoSchemaMigration) 이 맞춘 뒤 V2 부터 적용한다.
+ */
+@Configuration
+public class FlywayConfig {
+
+    @Bean
+    public FlywayConfigurationCustomizer flywayBaselineCustomizer() {
+        return configuration -> configuration
+                .baselineOnMigrate(true)
+                .baselineVersion("1");
+    }
+}
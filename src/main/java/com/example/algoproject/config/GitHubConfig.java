@@ -0,0 +1,144 @@
+package com.example.algoproject.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class GitHubConfig {
+
+    @Value("${github.pool.max-total:100}")
+    private int maxTotal;
+
+    @Value("${github.pool.max-per-route:50}")
+    private int maxPerRoute;
+
+    @Value("${github.pool.keep-alive-seconds:30}")
+    private long keepAliveSeconds;
+
+    @Value("${github.sync.threads:16}")
+    private int syncThreads;
+
+    @Value("${github.timeout.connect-ms:2000}")
+    private int connectTimeout;
+
+    // 커넥션 풀에서 커넥션을 빌릴 때까지 기다리는 시간
+    @Value("${github.timeout.pool-ms:1000}")
+    private int poolTimeout;
+
+    // 조회 (GET) 응답을 기다리는 시간
+    @Value("${github.timeout.read-ms:5000}")
+    private int readTimeout;
+
+    // repository 생성, 커밋 등 쓰기 요청은 github 에서 처리 시간이 더 걸린다
+    @Value("${github.timeout.write-ms:15000}")
+    private int writeTimeout;
+
+    // github 호출은 거의 api.github.com 한 곳으로 가기 때문에 route 당 최대 커넥션 수가 실질적인 상한이 된다
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager gitHubConnectionManager() {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(keepAliveSeconds, TimeUnit.SECONDS);
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setValidateAfterInactivity(2000);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient gitHubHttpClient(PoolingHttpClientConnectionManager gitHubConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(gitHubConnectionManager)
+                .setDefaultRequestConfig(requestConfig(readTimeout))
+                .setKeepAliveStrategy((response, context) -> TimeUnit.SECONDS.toMillis(keepAliveSeconds))
+                .evictExpiredConnections()
+                .evictIdleConnections(keepAliveSeconds, TimeUnit.SECONDS)
+                .disableCookieManagement()
+                .build();
+    }
+
+    // 모든 요청에 공통으로 들어가는 header 는 한 번만 만들어 재사용한다
+    @Bean
+    public RestTemplate gitHubRestTemplate(RestTemplateBuilder builder, CloseableHttpClient gitHubHttpClient) {
+        return builder
+                .requestFactory(() -> new TimeoutRequestFactory(gitHubHttpClient))
+                .defaultHeader(HttpHeaders.USER_AGENT, "api-test")
+                .defaultHeader(HttpHeaders.ACCEPT, "application/vnd.github.v3+json")
+                .build();
+    }
+
+    // 요청 처리 중 여러 github 조회를 동시에 보낼 때 쓰는 pool. 꽉 차면 요청을 거절하고 DB 상태를 그대로 쓴다
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService gitHubSyncExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(syncThreads, syncThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(syncThreads * 4), new CustomizableThreadFactory("github-sync-"));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private RequestConfig requestConfig(int socketTimeout) {
+        return RequestConfig.custom()
+                .setConnectTimeout(connectTimeout)
+                .setConnectionRequestTimeout(poolTimeout)
+                .setSocketTimeout(socketTimeout)
+                .build();
+    }
+
+    // 요청 종류(조회/쓰기) 별로 응답 대기 시간을 다르게 준다
+    private class TimeoutRequestFactory extends HttpComponentsClientHttpRequestFactory {
+
+        private final RequestConfig readConfig = requestConfig(readTimeout);
+        private final RequestConfig writeConfig = requestConfig(writeTimeout);
+
+        TimeoutRequestFactory(CloseableHttpClient httpClient) {
+            super(httpClient);
+            // 요청 body (커밋할 파일 내용이 들어간 json) 를 byte 배열로 한 번 더 복사하지 않고 바로 socket 으로 쓴다
+            setBufferRequestBody(false);
+        }
+
+        @Override
+        protected HttpContext createHttpContext(HttpMethod httpMethod, URI uri) {
+            HttpClientContext context = HttpClientContext.create();
+            context.setRequestConfig(httpMethod == HttpMethod.GET ? readConfig : writeConfig);
+            return context;
+        }
+    }
+
+    // 커넥션 풀 상태 (leased, pending, available) 를 metric 으로 노출
+    @Bean
+    public MeterBinder gitHubPoolMetrics(PoolingHttpClientConnectionManager gitHubConnectionManager) {
+        return registry -> {
+            Gauge.builder("github.pool.leased", gitHubConnectionManager, m -> m.getTotalStats().getLeased())
+                    .description("사용 중인 github 커넥션 수")
+                    .register(registry);
+            Gauge.builder("github.pool.pending", gitHubConnectionManager, m -> m.getTotalStats().getPending())
+                    .description("커넥션을 기다리는 요청 수")
+                    .register(registry);
+            Gauge.builder("github.pool.available", gitHubConnectionManager, m -> m.getTotalStats().getAvailable())
+                    .description("재사용 가능한 유휴 커넥션 수")
+                    .register(registry);
+            Gauge.builder("github.pool.max", gitHubConnectionManager, m -> m.getTotalStats().getMax())
+                    .description("커넥션 풀 최대 크기")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.algoproject.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 자주 읽고 거의 바뀌지 않는 엔티티 (User, Study, Problem) 를 hibernate 2차 캐시 (JCache + Caffeine) 에 올린다.
+ * region 별로 최대 개수와 TTL 을 따로 둔다. 엔티티 변경은 hibernate 가 캐시에 같이 반영한다. (READ_WRITE)
+ * 한 서버 안에서만 쓰는 캐시라서, 서버가 여러 대면 다른 서버의 변경은 TTL 이 지나야 보인다.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String USER = "user";
+    public static final String STUDY = "study";
+    public static final String PROBLEM = "problem";
+
+    @Value("${cache.user.max-size:10000}")
+    private long userMaxSize;
+
+    @Value("${cache.user.ttl-seconds:600}")
+    private long userTtlSeconds;
+
+    @Value("${cache.study.max-size:5000}")
+    private long studyMaxSize;
+
+    @Value("${cache.study.ttl-seconds:600}")
+    private long studyTtlSeconds;
+
+    @Value("${cache.problem.max-size:10000}")
+    private long problemMaxSize;
+
+    @Value("${cache.problem.ttl-seconds:1800}")
+    private long problemTtlSeconds;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        // 테스트처럼 한 JVM 에 context 가 여러 개 떠도 region 이 겹치지 않도록 context 마다 별도의 CacheManager 를 쓴다
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-" + System.identityHashCode(this)), getClass().getClassLoader(), new Properties());
+
+        cacheManager.createCache(USER, configuration(userMaxSize, userTtlSeconds));
+        cacheManager.createCache(STUDY, configuration(studyMaxSize, studyTtlSeconds));
+        cacheManager.createCache(PROBLEM, configuration(problemMaxSize, problemTtlSeconds));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put("hibernate.javax.cache.cache_manager", hibernateCacheManager);
+            // 위에서 만들지 않은 region 을 쓰는 엔티티가 생기면 기본 설정으로 만들고 로그를 남긴다
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "create-warn");
+        };
+    }
+
+    // region 별 hit, miss, put, eviction 을 metric 으로 노출 (cache.gets{cache=user,result=hit} 등)
+    @Bean
+    public MeterBinder hibernateCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> {
+            for (String region : List.of(USER, STUDY, PROBLEM))
+                JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(region));
+        };
+    }
+
+    //
+    // private
+    //
+
+    private CaffeineConfiguration<Object, Object> configuration(long maxSize, long ttlSeconds) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.algoproject.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@EnableScheduling
+@Configuration
+public class SchedulingConfig {
+
+    @Value("${github.job.workers:4}")
+    private int workers;
+
+    // @Scheduled 작업 (작업 큐 polling, 스터디 reconcile) 이 서로를 막지 않도록 thread 를 여러 개 둔다
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(4);
+        scheduler.setThreadNamePrefix("scheduling-");
+        return scheduler;
+    }
+
+    // github 작업 (커밋, 레포지토리 삭제, 초대) 을 요청 thread 밖에서 실행하는 worker pool
+    @Bean
+    public ThreadPoolTaskExecutor gitHubJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(workers * 2);
+        executor.setThreadNamePrefix("github-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
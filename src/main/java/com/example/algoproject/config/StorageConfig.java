@@ -0,0 +1,29 @@
+package com.example.algoproject.config;
+
+import com.amazonaws.services.s3.AmazonS3Client;
+import com.example.algoproject.storage.ContentStorage;
+import com.example.algoproject.storage.LocalContentStorage;
+import com.example.algoproject.storage.S3ContentStorage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+// 풀이 본문 저장소. 기본은 S3, storage.type=local 이면 로컬 디렉토리 (storage.local.root)
+@Configuration
+public class StorageConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "storage.type", havingValue = "s3", matchIfMissing = true)
+    public ContentStorage s3ContentStorage(AmazonS3Client amazonS3Client, @Value("${cloud.aws.s3.bucket}") String bucket) {
+        return new S3ContentStorage(amazonS3Client, bucket);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "storage.type", havingValue = "local")
+    public ContentStorage localContentStorage(@Value("${storage.local.root:./storage}") String root) {
+        return new LocalContentStorage(Path.of(root));
+    }
+}
@@ -1,8 +1,14 @@
 package com.example.algoproject.config;
 
 import com.example.algoproject.util.Interceptor;
+import com.example.algoproject.util.RequestSizeFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -13,6 +19,19 @@ public class WebConfig implements WebMvcConfigurer {
 
     private final Interceptor interceptor;
 
+    // 솔루션 하나 (code + readMe) 의 최대 크기 (UTF-8 bytes)
+    @Value("${solution.max-bytes:1048576}")
+    private long solutionMaxBytes;
+
+    // 솔루션 등록/수정 요청은 multipart 를 읽기 전에 크기부터 확인 (code + readMe + multipart/json 여유분)
+    @Bean
+    public FilterRegistrationBean<RequestSizeFilter> solutionSizeFilter(ObjectMapper objectMapper) {
+        FilterRegistrationBean<RequestSizeFilter> registration = new FilterRegistrationBean<>(new RequestSizeFilter(solutionMaxBytes + 64 * 1024, objectMapper));
+        registration.addUrlPatterns("/api/solution/create", "/api/solution/update/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
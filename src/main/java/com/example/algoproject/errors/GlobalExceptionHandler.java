@@ -18,17 +18,28 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler({NotExistUserException.class, NotExistStudyException.class, NotExistProblemException.class,
             NotExistSolutionException.class, NotLeaderUserException.class, AlreadyExistMemberException.class, AlreadyExistSolutionException.class,
-            NotExistCommentException.class, NotWriterUserException.class, NotExistSessionException.class, NotMySolutionException.class})
+            NotExistCommentException.class, NotWriterUserException.class, NotExistSessionException.class, NotMySolutionException.class,
+            NotAdminUserException.class, TooLargeSolutionException.class})
 
     CommonResponse handleBadRequestException(Exception ex) {
         return handleBadRequest(ex);
     }
 
-    @ExceptionHandler({FailedResponseException.class})
+    @ExceptionHandler({FailedResponseException.class, NotValidWebhookException.class, NotValidRefreshTokenException.class})
     CommonResponse handleUnauthorizedException(Exception ex) {
         return handleUnauthorized(ex);
     }
 
+    @ExceptionHandler({GitHubUnavailableException.class, FailedStorageException.class})
+    CommonResponse handleServiceUnavailableException(Exception ex) {
+        return handleServiceUnavailable(ex);
+    }
+
+    @ExceptionHandler({ExceededRateLimitException.class})
+    CommonResponse handleTooManyRequestsException(Exception ex) {
+        return handleTooManyRequests(ex);
+    }
+
     @ExceptionHandler(Exception.class)
     CommonResponse handleException(Exception ex) {
         return handleInternalServerError(ex);
@@ -44,6 +55,16 @@ public class GlobalExceptionHandler {
         return responseService.getErrorResponse(HttpStatus.UNAUTHORIZED.value(), ex.getMessage());
     }
 
+    private CommonResponse handleTooManyRequests(Exception ex) {
+        log.info(ex.getMessage());
+        return responseService.getErrorResponse(HttpStatus.TOO_MANY_REQUESTS.value(), ex.getMessage());
+    }
+
+    private CommonResponse handleServiceUnavailable(Exception ex) {
+        log.info(ex.getMessage());
+        return responseService.getErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), ex.getMessage());
+    }
+
     private CommonResponse handleInternalServerError (Exception ex) {
         log.info(ex.getMessage());
         return responseService.getErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR.value(), ex.getMessage());
@@ -0,0 +1,21 @@
+package com.example.algoproject.errors.exception;
+
+public class ExceededRateLimitException extends FailedResponseException {
+    private static final String MESSAGE = "github api 사용량을 초과했습니다. 잠시 후 다시 시도해 주세요.";
+
+    // 다시 요청을 보낼 수 있는 시간 (epoch millis). 알 수 없으면 0
+    private final long retryAt;
+
+    public ExceededRateLimitException() {
+        this(0);
+    }
+
+    public ExceededRateLimitException(long retryAt) {
+        super(MESSAGE);
+        this.retryAt = retryAt;
+    }
+
+    public long getRetryAt() {
+        return retryAt;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.algoproject.errors.exception;
+
+public class FailedStorageException extends RuntimeException {
+    private static final String MESSAGE = "솔루션 내용을 저장소에서 읽거나 쓰지 못했습니다. 잠시 후 다시 시도해 주세요.";
+    public FailedStorageException(Throwable cause) {
+        super(MESSAGE, cause);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.algoproject.errors.exception;
+
+public class GitHubUnavailableException extends FailedResponseException {
+    private static final String MESSAGE = "github 응답이 원활하지 않습니다. 잠시 후 다시 시도해 주세요.";
+
+    // 다시 요청을 보낼 수 있는 시간 (epoch millis). 알 수 없으면 0
+    private final long retryAt;
+
+    public GitHubUnavailableException() {
+        this(0);
+    }
+
+    public GitHubUnavailableException(long retryAt) {
+        super(MESSAGE);
+        this.retryAt = retryAt;
+    }
+
+    public long getRetryAt() {
+        return retryAt;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.algoproject.errors.exception;
+
+public class NotAdminUserException extends RuntimeException {
+    private static final String MESSAGE = "관리자만 사용할 수 있습니다.";
+    public NotAdminUserException() {
+        super(MESSAGE);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.algoproject.errors.exception;
+
+public class NotValidRefreshTokenException extends RuntimeException {
+    private static final String MESSAGE = "유효하지 않은 refresh token 입니다. 다시 로그인해 주세요.";
+    public NotValidRefreshTokenException() {
+        super(MESSAGE);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.algoproject.errors.exception;
+
+public class NotValidWebhookException extends RuntimeException {
+    private static final String MESSAGE = "유효하지 않은 webhook 서명입니다.";
+    public NotValidWebhookException() {
+        super(MESSAGE);
+    }
+}
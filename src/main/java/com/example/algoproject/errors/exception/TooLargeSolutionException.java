@@ -0,0 +1,8 @@
+package com.example.algoproject.errors.exception;
+
+public class TooLargeSolutionException extends RuntimeException {
+    private static final String MESSAGE = "솔루션 코드 또는 리드미의 크기가 너무 큽니다.";
+    public TooLargeSolutionException() {
+        super(MESSAGE);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.algoproject.github;
+
+import com.example.algoproject.errors.exception.GitHubUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 동시에 진행 중인 github 호출 수를 제한한다.
+ * github 가 느려져도 요청 처리 thread 가 전부 github 응답을 기다리며 묶이지 않도록 해서,
+ * github 를 호출하지 않는 API 는 계속 응답할 수 있게 한다.
+ */
+@Component
+public class GitHubBulkhead {
+
+    private final Semaphore permits;
+    private final long maxWaitMillis;
+    private final Counter rejectedCounter;
+
+    public GitHubBulkhead(MeterRegistry meterRegistry,
+                          @Value("${github.bulkhead.max-concurrent-calls:32}") int maxConcurrentCalls,
+                          @Value("${github.bulkhead.max-wait-ms:500}") long maxWaitMillis) {
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+        this.maxWaitMillis = maxWaitMillis;
+
+        this.rejectedCounter = meterRegistry.counter("github.bulkhead.rejected");
+        Gauge.builder("github.bulkhead.available", permits, Semaphore::availablePermits)
+                .register(meterRegistry);
+    }
+
+    public void acquire() {
+        try {
+            if (permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS))
+                return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejectedCounter.increment();
+        throw new GitHubUnavailableException();
+    }
+
+    public void release() {
+        permits.release();
+    }
+}
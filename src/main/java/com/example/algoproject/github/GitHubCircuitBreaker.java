@@ -0,0 +1,141 @@
+package com.example.algoproject.github;
+
+import com.example.algoproject.errors.exception.GitHubUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/*
+ * 최근 github 호출의 실패율이 기준을 넘으면 일정 시간 동안 호출을 보내지 않고 바로 실패시킨다.
+ * - CLOSED: 최근 window-size 개의 호출 결과를 기록하고, 실패율이 failure-rate-threshold(%) 이상이면 OPEN
+ * - OPEN: open-duration 동안 모든 호출을 거절. 지나면 HALF_OPEN
+ * - HALF_OPEN: half-open-calls 개의 시험 호출만 보내고, 모두 성공하면 CLOSED, 하나라도 실패하면 다시 OPEN
+ * 타임아웃, 연결 실패, 5xx 만 실패로 본다. 404 같은 4xx 는 github 가 정상 응답한 것이다.
+ * 429, 403 rate limit 은 한 토큰의 사용량 문제라서 GitHubRateLimiter 가 그 토큰만 멈춘다. 여기서 세면 다른 유저의 호출까지 막힌다.
+ */
+@Slf4j
+@Component
+public class GitHubCircuitBreaker {
+
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationMillis;
+    private final int halfOpenCalls;
+
+    private final boolean[] window;
+    private int windowIndex;
+    private int recorded;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    private final Counter rejectedCounter;
+
+    public GitHubCircuitBreaker(MeterRegistry meterRegistry,
+                                @Value("${github.circuit-breaker.window-size:20}") int windowSize,
+                                @Value("${github.circuit-breaker.minimum-calls:10}") int minimumCalls,
+                                @Value("${github.circuit-breaker.failure-rate-threshold:50}") double failureRateThreshold,
+                                @Value("${github.circuit-breaker.open-duration-ms:30000}") long openDurationMillis,
+                                @Value("${github.circuit-breaker.half-open-calls:3}") int halfOpenCalls) {
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationMillis = openDurationMillis;
+        this.halfOpenCalls = halfOpenCalls;
+        this.window = new boolean[windowSize];
+
+        this.rejectedCounter = meterRegistry.counter("github.circuit-breaker.rejected");
+        Gauge.builder("github.circuit-breaker.state", this, b -> b.getState().ordinal())
+                .description("0: CLOSED, 1: HALF_OPEN, 2: OPEN")
+                .register(meterRegistry);
+        Gauge.builder("github.circuit-breaker.failure-rate", this, GitHubCircuitBreaker::getFailureRate)
+                .register(meterRegistry);
+    }
+
+    // 호출해도 되는지 확인. 안 되면 예외
+    public synchronized void acquirePermission() {
+        long now = System.currentTimeMillis();
+
+        if (state == State.OPEN && now - openedAt >= openDurationMillis)
+            transitionTo(State.HALF_OPEN, now);
+
+        if (state == State.OPEN || (state == State.HALF_OPEN && halfOpenPermits <= 0)) {
+            rejectedCounter.increment();
+            throw new GitHubUnavailableException(state == State.OPEN ? openedAt + openDurationMillis : 0);
+        }
+
+        if (state == State.HALF_OPEN)
+            halfOpenPermits--;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= halfOpenCalls)
+                transitionTo(State.CLOSED, System.currentTimeMillis());
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        long now = System.currentTimeMillis();
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN, now);
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && recorded >= minimumCalls && getFailureRate() >= failureRateThreshold)
+            transitionTo(State.OPEN, now);
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized double getFailureRate() {
+        return recorded == 0 ? 0 : failures * 100.0 / recorded;
+    }
+
+    //
+    // private
+    //
+
+    private void record(boolean failure) {
+        if (recorded == windowSize && window[windowIndex])
+            failures--;
+        else if (recorded < windowSize)
+            recorded++;
+
+        window[windowIndex] = failure;
+        if (failure)
+            failures++;
+        windowIndex = (windowIndex + 1) % windowSize;
+    }
+
+    private void transitionTo(State next, long now) {
+        log.info("github circuit breaker " + state + " -> " + next);
+        state = next;
+
+        switch (next) {
+            case OPEN -> openedAt = now;
+            case HALF_OPEN -> {
+                halfOpenPermits = halfOpenCalls;
+                halfOpenSuccesses = 0;
+            }
+            case CLOSED -> {
+                recorded = 0;
+                failures = 0;
+                windowIndex = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,433 @@
+package com.example.algoproject.github;
+
+import com.example.algoproject.errors.exception.FailedResponseException;
+import com.example.algoproject.github.GitHubResponseCache.CachedResponse;
+import com.example.algoproject.github.dto.request.CreateCommit;
+import com.example.algoproject.github.dto.request.CreateTree;
+import com.example.algoproject.github.dto.request.CreateWebhook;
+import com.example.algoproject.github.dto.request.UpdateReference;
+import com.example.algoproject.github.dto.response.*;
+import com.example.algoproject.study.dto.request.AddContributor;
+import com.example.algoproject.study.dto.request.CreateRepository;
+import com.example.algoproject.user.domain.User;
+import com.example.algoproject.user.dto.TokenDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.*;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class GitHubClient {
+
+    private final RestTemplate gitHubRestTemplate;
+    private final GitHubResponseCache responseCache;
+    private final GitHubRateLimiter rateLimiter;
+    private final GitHubCircuitBreaker circuitBreaker;
+    private final GitHubBulkhead bulkhead;
+    private final GitHubRequestCoalescer coalescer;
+    private final GitHubMetrics metrics;
+
+    // 테스트에서는 github 시뮬레이터 주소로 바꿔서 쓴다
+    @Value("${github.api-url:https://api.github.com}")
+    private String apiUrl;
+
+    @Value("${github.oauth-url:https://github.com/login/oauth/access_token}")
+    private String oauthUrl;
+
+    // GraphQL 요청 하나에 담는 repository 수
+    @Value("${github.graphql.chunk-size:20}")
+    private int graphQLChunkSize;
+
+    //
+    // repository
+    //
+
+    public RepositoryResponse createRepository(User owner, String repoName) {
+
+        CreateRepository request = new CreateRepository();
+        request.setName(repoName);
+        request.setAuto_init(true);
+
+        return exchange(owner, apiUrl + "/user/repos", HttpMethod.POST, request,
+                RepositoryResponse.class, "github api에서 repository 생성을 실패했습니다.");
+    }
+
+    // 이미 삭제된 repository (404) 는 성공으로 본다
+    public void deleteRepository(User owner, String repoName) {
+        try {
+            send(owner, apiUrl + "/repos/" + owner.getName() + "/" + repoName, HttpMethod.DELETE,
+                    new HttpEntity<>(authHeader(owner)), Void.class);
+        } catch (HttpClientErrorException.NotFound e) {
+            log.info("repository " + repoName + " already deleted");
+        } catch (RestClientException e) {
+            throw new FailedResponseException("github api에서 repository 삭제를 실패했습니다.");
+        }
+    }
+
+    /*
+     * repository id 로 존재 여부를 확인한다. 응답 크기가 사용자의 repository 개수와 상관없이 일정하다.
+     * 404 만 NOT_EXISTS 로 보고, 네트워크 오류나 rate limit (403) 등은 알 수 없음(UNKNOWN)으로 처리한다.
+     */
+    public RepositoryStatus getRepositoryStatus(User owner, String repositoryId) {
+        String url = apiUrl + "/repositories/" + repositoryId;
+        try {
+            coalescedFetch(owner, url, RepositoryResponse.class);
+            return RepositoryStatus.EXISTS;
+        } catch (HttpClientErrorException.NotFound e) {
+            responseCache.evict(owner.getId(), url);
+            return RepositoryStatus.NOT_EXISTS;
+        } catch (RestClientException | FailedResponseException e) {
+            log.info("GET " + url + " failed: " + e.getMessage());
+            return RepositoryStatus.UNKNOWN;
+        }
+    }
+
+    /*
+     * 한 유저(토큰 소유자)의 여러 repository 존재 여부와 collaborator 를 GraphQL 로 한 번에 조회한다.
+     * repository 하나 당 alias 하나를 쓰고, 한 요청에 너무 많은 node 를 요청하지 않도록 graphQLChunkSize 개씩 나눠 보낸다.
+     * 요청이 실패한 chunk 의 repository 는 UNKNOWN 으로 반환한다.
+     */
+    public Map<String, RepositoryState> getRepositoryStates(User owner, List<String> repoNames) {
+        Map<String, RepositoryState> states = new LinkedHashMap<>();
+
+        for (int from = 0; from < repoNames.size(); from += graphQLChunkSize) {
+            List<String> chunk = repoNames.subList(from, Math.min(from + graphQLChunkSize, repoNames.size()));
+            try {
+                states.putAll(queryRepositoryStates(owner, chunk));
+            } catch (RestClientException | FailedResponseException e) {
+                log.info("graphql repository query failed: " + e.getMessage());
+                chunk.forEach(repoName -> states.put(repoName, RepositoryState.of(RepositoryStatus.UNKNOWN)));
+            }
+        }
+
+        return states;
+    }
+
+    //
+    // collaborator
+    //
+
+    public void addCollaborator(User owner, String repoName, String memberName) {
+
+        AddContributor request = new AddContributor();
+        request.setPermission("admin");
+
+        exchange(owner, apiUrl + "/repos/" + owner.getName() + "/" + repoName + "/collaborators/" + memberName, HttpMethod.PUT, request,
+                Void.class, "github api에서 contributor 초대를 실패했습니다.");
+    }
+
+    public List<CollaboratorResponse> getCollaborators(User owner, String repoName) {
+        CollaboratorResponse[] response = conditionalGet(owner, apiUrl + "/repos/" + owner.getName() + "/" + repoName + "/collaborators",
+                CollaboratorResponse[].class, "github api에서 contributor 조회에 실패했습니다.");
+        return Arrays.asList(response);
+    }
+
+    //
+    // webhook
+    //
+
+    public void createWebhook(User owner, String repoName, String url, String secret) {
+
+        CreateWebhook request = new CreateWebhook();
+        request.setEvents(List.of("member", "repository"));
+        request.setConfig(Map.of("url", url, "content_type", "json", "secret", secret));
+
+        exchange(owner, apiUrl + "/repos/" + owner.getName() + "/" + repoName + "/hooks", HttpMethod.POST, request,
+                Void.class, "github api에서 webhook 등록에 실패했습니다.");
+    }
+
+    //
+    // git data
+    //
+
+    /*
+     * 여러 파일을 하나의 커밋으로 올린다. (tree 생성 -> commit 생성 -> ref 이동)
+     * 중간에 다른 커밋이 먼저 들어와 fast-forward 가 안 되면 (422) 최신 브랜치 기준으로 한 번 더 시도한다.
+     */
+    public String commitFiles(User user, String repoName, String message, Map<String, String> files) {
+        try {
+            return createCommit(user, repoName, message, files, 0);
+        } catch (HttpClientErrorException.UnprocessableEntity e) {
+            log.info("ref update of " + repoName + " rejected, retrying on latest head");
+            try {
+                return createCommit(user, repoName, message, files, 1);
+            } catch (RestClientException retryException) {
+                throw new FailedResponseException("github api에서 파일 커밋에 실패했습니다.");
+            }
+        } catch (RestClientException e) {
+            log.info("commit to " + repoName + " failed: " + e.getMessage());
+            throw new FailedResponseException("github api에서 파일 커밋에 실패했습니다.");
+        }
+    }
+
+    //
+    // oauth & user
+    //
+
+    public TokenDto getAccessToken(String clientId, String clientSecret, String code) {
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("client_id", clientId);
+        params.put("client_secret", clientSecret);
+        params.put("code", code);
+
+        return exchange(oauthUrl, HttpMethod.POST, new HttpEntity<>(params, headers),
+                TokenDto.class, "code가 유효하지 않거나 파기되었습니다");
+    }
+
+    public UserResponse getUser(String accessToken) {
+        return exchange(apiUrl + "/user", HttpMethod.GET, new HttpEntity<>(authHeader(accessToken)),
+                UserResponse.class, "유효하지 않은 Access Token 입니다");
+    }
+
+    //
+    // private
+    //
+
+    private <T> T exchange(User user, String url, HttpMethod method, Object body, Class<T> responseType, String errorMessage) {
+        try {
+            return send(user, url, method, new HttpEntity<>(body, authHeader(user)), responseType).getBody();
+        } catch (RestClientException e) {
+            log.info(method + " " + url + " failed: " + e.getMessage());
+            throw new FailedResponseException(errorMessage);
+        }
+    }
+
+    // 토큰 소유자가 정해지지 않은 요청 (oauth, 로그인 시 유저 조회) 은 사용량 추적 대상이 아니다
+    private <T> T exchange(String url, HttpMethod method, HttpEntity<?> entity, Class<T> responseType, String errorMessage) {
+        try {
+            return guard(method, url, 0, () -> gitHubRestTemplate.exchange(url, method, entity, responseType)).getBody();
+        } catch (RestClientException e) {
+            log.info(method + " " + url + " failed: " + e.getMessage());
+            throw new FailedResponseException(errorMessage);
+        }
+    }
+
+    private Map<String, RepositoryState> queryRepositoryStates(User owner, List<String> repoNames) {
+        StringBuilder parameters = new StringBuilder();
+        StringBuilder fields = new StringBuilder();
+        Map<String, Object> variables = new LinkedHashMap<>();
+
+        for (int i = 0; i < repoNames.size(); i++) {
+            parameters.append(i == 0 ? "" : ", ").append("$o").append(i).append(": String!, $n").append(i).append(": String!");
+            fields.append(" r").append(i).append(": repository(owner: $o").append(i).append(", name: $n").append(i)
+                    .append(") { databaseId collaborators(first: 100) { nodes { databaseId login } } }");
+            variables.put("o" + i, owner.getName());
+            variables.put("n" + i, repoNames.get(i));
+        }
+
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("query", "query(" + parameters + ") {" + fields + " }");
+        request.put("variables", variables);
+
+        JsonNode response = send(owner, apiUrl + "/graphql", HttpMethod.POST,
+                new HttpEntity<>(request, authHeader(owner)), JsonNode.class).getBody();
+        if (response == null)
+            throw new FailedResponseException("github graphql 응답이 비어 있습니다.");
+
+        // 존재하지 않는 repository 는 data 의 alias 가 null 이고 errors 에 NOT_FOUND 로 온다
+        Set<String> notFound = new HashSet<>();
+        for (JsonNode error : response.path("errors"))
+            if ("NOT_FOUND".equals(error.path("type").asText()))
+                notFound.add(error.path("path").path(0).asText());
+
+        Map<String, RepositoryState> states = new LinkedHashMap<>();
+        for (int i = 0; i < repoNames.size(); i++) {
+            String alias = "r" + i;
+            JsonNode repository = response.path("data").path(alias);
+
+            if (repository.isMissingNode() || repository.isNull()) {
+                states.put(repoNames.get(i), RepositoryState.of(notFound.contains(alias) ? RepositoryStatus.NOT_EXISTS : RepositoryStatus.UNKNOWN));
+                continue;
+            }
+
+            List<CollaboratorResponse> collaborators = new ArrayList<>();
+            for (JsonNode node : repository.path("collaborators").path("nodes")) {
+                CollaboratorResponse collaborator = new CollaboratorResponse();
+                collaborator.setId(node.path("databaseId").asLong());
+                collaborator.setLogin(node.path("login").asText());
+                collaborators.add(collaborator);
+            }
+            // collaborator 조회 권한이 없으면 collaborators 가 null 로 온다
+            states.put(repoNames.get(i), new RepositoryState(RepositoryStatus.EXISTS, repository.path("databaseId").asLong(),
+                    repository.path("collaborators").isNull() ? null : collaborators));
+        }
+
+        return states;
+    }
+
+    private String createCommit(User user, String repoName, String message, Map<String, String> files, int retry) {
+        String repoUrl = apiUrl + "/repos/" + user.getName() + "/" + repoName;
+
+        // 기본 브랜치와 그 브랜치의 최신 커밋, tree 조회 (변경이 없으면 304 로 응답)
+        RepositoryResponse repository = fetch(user, repoUrl, RepositoryResponse.class, retry);
+        String branchName = repository.getDefault_branch();
+        BranchResponse branch = fetch(user, repoUrl + "/branches/" + branchName, BranchResponse.class, retry);
+
+        CreateTree treeRequest = new CreateTree();
+        treeRequest.setBase_tree(branch.getTreeSha());
+        files.forEach((path, content) -> treeRequest.getTree().add(new CreateTree.TreeEntry(path, content)));
+        GitObjectResponse tree = send(user, repoUrl + "/git/trees", HttpMethod.POST,
+                new HttpEntity<>(treeRequest, authHeader(user)), GitObjectResponse.class, retry).getBody();
+
+        CreateCommit commitRequest = new CreateCommit();
+        commitRequest.setMessage(message);
+        commitRequest.setTree(tree.getSha());
+        commitRequest.setParents(List.of(branch.getCommitSha()));
+        GitObjectResponse commit = send(user, repoUrl + "/git/commits", HttpMethod.POST,
+                new HttpEntity<>(commitRequest, authHeader(user)), GitObjectResponse.class, retry).getBody();
+
+        UpdateReference referenceRequest = new UpdateReference();
+        referenceRequest.setSha(commit.getSha());
+        referenceRequest.setForce(false);
+        send(user, repoUrl + "/git/refs/heads/" + branchName, HttpMethod.PATCH,
+                new HttpEntity<>(referenceRequest, authHeader(user)), Void.class, retry);
+
+        log.info("committed " + files.keySet() + " to " + repoName + " (" + commit.getSha() + ")");
+        return commit.getSha();
+    }
+
+    private <T> T conditionalGet(User user, String url, Class<T> responseType, String errorMessage) {
+        try {
+            return coalescedFetch(user, url, responseType);
+        } catch (RestClientException e) {
+            log.info("GET " + url + " failed: " + e.getMessage());
+            throw new FailedResponseException(errorMessage);
+        }
+    }
+
+    /*
+     * 같은 유저의 같은 URL 조회가 동시에 들어오면 github 호출 한 번의 결과를 나눠 쓴다.
+     * 커밋 중 브랜치 조회처럼 항상 최신 값이 필요한 곳은 fetch 를 직접 쓴다.
+     */
+    private <T> T coalescedFetch(User user, String url, Class<T> responseType) {
+        return coalescer.execute(user.getId() + " " + responseType.getSimpleName() + " " + url, () -> fetch(user, url, responseType, 0));
+    }
+
+    // 이전 응답의 ETag 가 있으면 조건부 요청을 보내고, 304 이면 저장된 body 를 반환
+    private <T> T fetch(User user, String url, Class<T> responseType, int retry) {
+        HttpHeaders headers = authHeader(user);
+
+        CachedResponse cached = responseCache.get(user.getId(), url);
+        if (cached != null)
+            cached.applyTo(headers);
+
+        ResponseEntity<T> response = send(user, url, HttpMethod.GET, new HttpEntity<>(headers), responseType, retry);
+
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && cached != null) {
+            responseCache.recordNotModified();
+            return responseType.cast(cached.getBody());
+        }
+
+        responseCache.put(user.getId(), url, response.getHeaders(), response.getBody());
+        return response.getBody();
+    }
+
+    // 토큰 별 사용량을 확인하고 요청을 보낸 뒤, 응답 header 의 rate limit 정보를 반영한다
+    private <T> ResponseEntity<T> send(User user, String url, HttpMethod method, HttpEntity<?> entity, Class<T> responseType) {
+        return send(user, url, method, entity, responseType, 0);
+    }
+
+    private <T> ResponseEntity<T> send(User user, String url, HttpMethod method, HttpEntity<?> entity, Class<T> responseType, int retry) {
+        rateLimiter.acquire(user);
+        try {
+            ResponseEntity<T> response = guard(method, url, retry, () -> gitHubRestTemplate.exchange(url, method, entity, responseType));
+            rateLimiter.update(user, response.getHeaders(), response.getStatusCodeValue());
+            return response;
+        } catch (RestClientResponseException e) {
+            rateLimiter.update(user, e.getResponseHeaders(), e.getRawStatusCode());
+            throw e;
+        }
+    }
+
+    // 동시 호출 수 제한 (bulkhead) 과 circuit breaker 를 거쳐 요청을 보내고, 결과와 응답 시간을 기록한다
+    private <T> ResponseEntity<T> guard(HttpMethod method, String url, int retry, Supplier<ResponseEntity<T>> request) {
+        Timer.Sample sample = metrics.start();
+        String status = GitHubMetrics.REJECTED;
+        try {
+            bulkhead.acquire();
+            try {
+                circuitBreaker.acquirePermission();
+                status = GitHubMetrics.IO_ERROR;
+                try {
+                    ResponseEntity<T> response = request.get();
+                    status = GitHubMetrics.statusClass(response.getStatusCodeValue());
+                    circuitBreaker.onSuccess();
+                    return response;
+                } catch (RestClientResponseException e) {
+                    status = GitHubMetrics.statusClass(e.getRawStatusCode());
+                    // 4xx 는 github 가 정상적으로 응답한 것. 5xx 만 장애로 본다 (429 는 토큰 별 rate limit 이라 GitHubRateLimiter 가 처리)
+                    if (e.getRawStatusCode() >= 500)
+                        circuitBreaker.onFailure();
+                    else
+                        circuitBreaker.onSuccess();
+                    throw e;
+                } catch (RestClientException e) { // 타임아웃, 연결 실패
+                    circuitBreaker.onFailure();
+                    throw e;
+                }
+            } finally {
+                bulkhead.release();
+            }
+        } finally {
+            metrics.record(sample, operation(method, url), status, retry);
+        }
+    }
+
+    // metric tag 로 쓸 요청 종류. URL 에 들어가는 유저, repository 이름은 tag 에 넣지 않는다
+    private String operation(HttpMethod method, String url) {
+        if (url.equals(oauthUrl))
+            return "oauth-token";
+
+        String path = url.startsWith(apiUrl) ? url.substring(apiUrl.length()) : url;
+        if (path.equals("/user"))
+            return "user-info";
+        if (path.equals("/user/repos"))
+            return method == HttpMethod.POST ? "create-repo" : "list-repos";
+        if (path.equals("/graphql"))
+            return "graphql";
+        if (path.startsWith("/repositories/"))
+            return "get-repo";
+        if (path.contains("/collaborators"))
+            return method == HttpMethod.PUT ? "add-collaborator" : "collaborators";
+        if (path.contains("/hooks"))
+            return "create-webhook";
+        if (path.contains("/branches/"))
+            return "get-branch";
+        if (path.contains("/git/trees"))
+            return "create-tree";
+        if (path.contains("/git/commits"))
+            return "create-commit";
+        if (path.contains("/git/refs/"))
+            return "update-ref";
+        if (path.startsWith("/repos/"))
+            return method == HttpMethod.DELETE ? "delete-repo" : "get-repo";
+        return "other";
+    }
+
+    // User-Agent, Accept 는 RestTemplate 기본 header 로 들어가므로 인증 header 만 만든다
+    private HttpHeaders authHeader(User user) {
+        return authHeader(user.getAccessToken());
+    }
+
+    private HttpHeaders authHeader(String accessToken) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, "token " + accessToken);
+        return headers;
+    }
+}
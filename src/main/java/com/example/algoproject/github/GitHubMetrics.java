@@ -0,0 +1,48 @@
+package com.example.algoproject.github;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/*
+ * github 로 나가는 요청의 응답 시간을 기록한다. (github.requests)
+ * - operation: create-repo, create-tree, oauth-token 같은 논리적인 요청 종류
+ * - status: 2xx, 3xx, 4xx, 5xx, io-error (타임아웃, 연결 실패), rejected (bulkhead, circuit breaker 에서 거절)
+ * - retry: 같은 작업을 다시 시도한 횟수 (커밋 충돌 후 재시도 등)
+ * prometheus 에서 분위수를 계산할 수 있도록 histogram bucket 을 함께 내보낸다.
+ */
+@Component
+public class GitHubMetrics {
+
+    public static final String IO_ERROR = "io-error";
+    public static final String REJECTED = "rejected";
+
+    private final MeterRegistry meterRegistry;
+
+    public GitHubMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    // 같은 tag 조합의 Timer 는 registry 에서 한 번만 만들어지고 이후에는 조회만 한다
+    public void record(Timer.Sample sample, String operation, String status, int retry) {
+        sample.stop(Timer.builder("github.requests")
+                .description("github 요청 응답 시간")
+                .tag("operation", operation)
+                .tag("status", status)
+                .tag("retry", String.valueOf(retry))
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(10))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry));
+    }
+
+    public static String statusClass(int status) {
+        return (status / 100) + "xx";
+    }
+}
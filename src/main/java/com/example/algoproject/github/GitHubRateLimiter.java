@@ -0,0 +1,223 @@
+package com.example.algoproject.github;
+
+import com.example.algoproject.errors.exception.ExceededRateLimitException;
+import com.example.algoproject.user.domain.User;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/*
+ * access token (유저) 별로 github 사용량을 추적하고 요청 속도를 조절한다.
+ * - X-RateLimit-Remaining / Reset 을 보고 남은 요청 수를 리셋 시간까지 나눠 쓰도록 token bucket 속도를 맞춘다
+ * - 403/429 의 Retry-After (secondary rate limit) 나 남은 요청이 0 이면 그 시간까지 요청을 보내지 않는다
+ * - 남은 요청이 적으면 백그라운드 작업은 멈추고 사용자 요청에 양보한다
+ */
+@Slf4j
+@Component
+public class GitHubRateLimiter {
+
+    private static final ThreadLocal<Boolean> BACKGROUND = ThreadLocal.withInitial(() -> false);
+
+    private final Map<String, Budget> budgets = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    private final double requestsPerSecond;
+    private final double burst;
+    private final double reserveRatio;
+    private final long interactiveMaxWaitMillis;
+    private final long backgroundMaxWaitMillis;
+
+    public GitHubRateLimiter(MeterRegistry meterRegistry,
+                             @Value("${github.rate-limit.requests-per-second:10}") double requestsPerSecond,
+                             @Value("${github.rate-limit.burst:20}") double burst,
+                             @Value("${github.rate-limit.reserve-ratio:0.2}") double reserveRatio,
+                             @Value("${github.rate-limit.interactive-max-wait-ms:2000}") long interactiveMaxWaitMillis,
+                             @Value("${github.rate-limit.background-max-wait-ms:30000}") long backgroundMaxWaitMillis) {
+        this.meterRegistry = meterRegistry;
+        this.requestsPerSecond = requestsPerSecond;
+        this.burst = burst;
+        this.reserveRatio = reserveRatio;
+        this.interactiveMaxWaitMillis = interactiveMaxWaitMillis;
+        this.backgroundMaxWaitMillis = backgroundMaxWaitMillis;
+    }
+
+    // 작업 큐, reconcile 같이 사용자가 기다리지 않는 github 호출은 이 안에서 실행한다
+    public void runInBackground(Runnable task) {
+        supplyInBackground(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public <T> T supplyInBackground(Supplier<T> task) {
+        boolean previous = BACKGROUND.get();
+        BACKGROUND.set(true);
+        try {
+            return task.get();
+        } finally {
+            BACKGROUND.set(previous);
+        }
+    }
+
+    public boolean isBackground() {
+        return BACKGROUND.get();
+    }
+
+    // 요청을 보내도 될 때까지 기다리고, 기다릴 수 있는 시간을 넘으면 예외
+    public void acquire(User user) {
+        boolean background = isBackground();
+        long maxWait = background ? backgroundMaxWaitMillis : interactiveMaxWaitMillis;
+
+        long now = System.currentTimeMillis();
+        Budget budget = budget(user);
+        long waitMillis = budget.reserve(now, background, maxWait);
+        if (waitMillis < 0) {
+            meterRegistry.counter("github.rate-limit.rejected", "priority", priority(background)).increment();
+            throw new ExceededRateLimitException(budget.availableAt(now, background));
+        }
+
+        if (waitMillis > 0) {
+            meterRegistry.counter("github.rate-limit.delayed", "priority", priority(background)).increment();
+            try {
+                Thread.sleep(waitMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ExceededRateLimitException();
+            }
+        }
+    }
+
+    // 응답 header 로 남은 사용량 갱신
+    public void update(User user, HttpHeaders headers, int status) {
+        if (headers == null)
+            return;
+        budget(user).update(System.currentTimeMillis(), headers, status);
+    }
+
+    //
+    // private
+    //
+
+    private Budget budget(User user) {
+        // metric 에는 github 이름 대신 내부 user id 를 tag 로 남긴다
+        return budgets.computeIfAbsent(user.getId(), id -> {
+            Budget budget = new Budget();
+            Gauge.builder("github.rate-limit.remaining", budget, b -> b.remaining == null ? Double.NaN : b.remaining)
+                    .tag("user", id)
+                    .register(meterRegistry);
+            Gauge.builder("github.rate-limit.limit", budget, b -> b.limit == null ? Double.NaN : b.limit)
+                    .tag("user", id)
+                    .register(meterRegistry);
+            return budget;
+        });
+    }
+
+    private String priority(boolean background) {
+        return background ? "background" : "interactive";
+    }
+
+    private class Budget {
+
+        private Integer remaining;
+        private Integer limit;
+        private long resetAt;       // epoch millis
+        private long blockedUntil;  // epoch millis
+
+        private double tokens = burst;
+        private long refilledAt = System.currentTimeMillis();
+
+        // 기다려야 하는 시간(ms) 을 반환. 기다릴 수 없으면 -1
+        synchronized long reserve(long now, boolean background, long maxWait) {
+
+            // secondary rate limit 이나 사용량 소진으로 막혀 있는 경우
+            if (blockedUntil > now)
+                return blockedUntil - now <= maxWait ? reserveAfter(now, blockedUntil) : -1;
+
+            // 남은 사용량이 적으면 리셋 전까지 백그라운드 작업은 보내지 않는다
+            if (background && isLow(now))
+                return resetAt - now <= maxWait ? reserveAfter(now, resetAt) : -1;
+
+            refill(now);
+            double rate = rate(now);
+            long waitMillis = tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / rate * 1000);
+            if (waitMillis > maxWait)
+                return -1;
+
+            tokens -= 1; // 음수가 되면 뒤에 오는 요청이 그만큼 더 기다린다
+            return waitMillis;
+        }
+
+        // 막혀 있거나 (Retry-After, 사용량 소진) 백그라운드에 양보 중이면 풀리는 시간. 아니면 now
+        synchronized long availableAt(long now, boolean background) {
+            long at = Math.max(now, blockedUntil);
+            if (background && isLow(now))
+                at = Math.max(at, resetAt);
+            return at;
+        }
+
+        synchronized void update(long now, HttpHeaders headers, int status) {
+            String remainingHeader = headers.getFirst("X-RateLimit-Remaining");
+            String limitHeader = headers.getFirst("X-RateLimit-Limit");
+            String resetHeader = headers.getFirst("X-RateLimit-Reset");
+
+            if (remainingHeader != null)
+                remaining = Integer.valueOf(remainingHeader);
+            if (limitHeader != null)
+                limit = Integer.valueOf(limitHeader);
+            if (resetHeader != null)
+                resetAt = Long.parseLong(resetHeader) * 1000;
+
+            // 남은 사용량이 없으면 리셋 시간까지 막는다
+            if (remaining != null && remaining == 0 && resetAt > now)
+                blockedUntil = Math.max(blockedUntil, resetAt);
+
+            if (status != 403 && status != 429)
+                return;
+
+            // 권한 없음 등의 일반 403 은 Retry-After 도 없고 사용량도 남아 있으므로 무시한다
+            String retryAfter = headers.getFirst(HttpHeaders.RETRY_AFTER);
+            if (retryAfter != null)
+                blockedUntil = now + Long.parseLong(retryAfter) * 1000;
+            else if (remaining != null && remaining == 0)
+                blockedUntil = resetAt;
+            else if (status == 429) // 대기 시간이 없는 secondary rate limit 은 github 권장대로 1분 쉰다
+                blockedUntil = now + 60_000;
+            else
+                return;
+
+            log.info("github rate limit hit, blocked for " + (blockedUntil - now) + "ms");
+        }
+
+        private long reserveAfter(long now, long until) {
+            refilledAt = until;
+            tokens = burst - 1;
+            return until - now;
+        }
+
+        private boolean isLow(long now) {
+            return remaining != null && limit != null && resetAt > now && remaining < limit * reserveRatio;
+        }
+
+        private void refill(long now) {
+            if (now > refilledAt) {
+                tokens = Math.min(burst, tokens + (now - refilledAt) / 1000.0 * rate(now));
+                refilledAt = now;
+            }
+        }
+
+        // 남은 사용량을 리셋 시간까지 고르게 나눠 쓰는 속도 (설정값을 넘지 않음)
+        private double rate(long now) {
+            if (remaining == null || resetAt <= now)
+                return requestsPerSecond;
+            double secondsToReset = Math.max(1, (resetAt - now) / 1000.0);
+            return Math.max(Math.min(requestsPerSecond, remaining / secondsToReset), 0.01);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.algoproject.github;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/*
+ * 같은 (토큰 소유자, URL) 로 동시에 들어온 github 조회를 하나의 요청으로 합친다. (single-flight)
+ * - 먼저 온 요청만 github 를 호출하고, 그 사이 들어온 요청은 같은 결과를 기다려 받는다
+ * - 성공한 결과는 ttl 동안 그대로 재사용한다. 실패하면 바로 지워서 다음 요청이 다시 호출한다
+ */
+@Component
+public class GitHubRequestCoalescer {
+
+    private static final int SWEEP_THRESHOLD = 256;
+
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+
+    private final Counter calledCounter;
+    private final Counter joinedCounter;
+    private final Counter reusedCounter;
+
+    public GitHubRequestCoalescer(MeterRegistry meterRegistry, @Value("${github.coalesce.ttl-ms:1000}") long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+        this.calledCounter = meterRegistry.counter("github.coalesce.requests", "result", "called");
+        this.joinedCounter = meterRegistry.counter("github.coalesce.requests", "result", "joined");
+        this.reusedCounter = meterRegistry.counter("github.coalesce.requests", "result", "reused");
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> call) {
+        while (true) {
+            long now = System.currentTimeMillis();
+            Flight flight = flights.get(key);
+
+            if (flight != null && flight.isExpired(now, ttlMillis)) {
+                flights.remove(key, flight);
+                continue;
+            }
+
+            if (flight == null) {
+                Flight mine = new Flight();
+                if (flights.putIfAbsent(key, mine) == null)
+                    return lead(key, mine, call);
+                continue;
+            }
+
+            if (flight.future.isDone())
+                reusedCounter.increment();
+            else
+                joinedCounter.increment();
+            return (T) await(flight);
+        }
+    }
+
+    //
+    // private
+    //
+
+    private <T> T lead(String key, Flight flight, Supplier<T> call) {
+        calledCounter.increment();
+        try {
+            T result = call.get();
+            flight.completedAt = System.currentTimeMillis();
+            flight.future.complete(result);
+            if (ttlMillis <= 0)
+                flights.remove(key, flight);
+            return result;
+        } catch (RuntimeException e) {
+            flights.remove(key, flight);
+            flight.future.completeExceptionally(e);
+            throw e;
+        } finally {
+            if (flights.size() > SWEEP_THRESHOLD)
+                sweep();
+        }
+    }
+
+    // 기다리던 요청이 실패하면 같은 예외를 그대로 던진다 (404 등을 호출한 쪽에서 구분할 수 있도록)
+    private Object await(Flight flight) {
+        try {
+            return flight.future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw e;
+        }
+    }
+
+    private void sweep() {
+        long now = System.currentTimeMillis();
+        flights.entrySet().removeIf(entry -> entry.getValue().isExpired(now, ttlMillis));
+    }
+
+    private static class Flight {
+
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+        private volatile long completedAt;
+
+        boolean isExpired(long now, long ttlMillis) {
+            return completedAt > 0 && now - completedAt >= ttlMillis;
+        }
+    }
+}
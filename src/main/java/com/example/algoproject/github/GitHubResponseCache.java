@@ -0,0 +1,108 @@
+package com.example.algoproject.github;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * github GET 응답을 (토큰 소유자, URL) 단위로 저장해두고 다음 요청 때 If-None-Match / If-Modified-Since 로 보낸다.
+ * 304 응답은 rate limit 에 포함되지 않으므로 변경이 없으면 저장된 body 를 그대로 돌려준다.
+ */
+@Component
+public class GitHubResponseCache {
+
+    private final Map<String, CachedResponse> entries;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter notModifiedCounter;
+
+    public GitHubResponseCache(@Value("${github.cache.max-entries:1000}") int maxEntries, MeterRegistry meterRegistry) {
+
+        // access-order LinkedHashMap 으로 가장 오래 사용되지 않은 응답부터 제거 (LRU)
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+
+        this.hitCounter = meterRegistry.counter("github.cache.requests", "result", "hit");
+        this.missCounter = meterRegistry.counter("github.cache.requests", "result", "miss");
+        this.notModifiedCounter = meterRegistry.counter("github.cache.not-modified");
+        Gauge.builder("github.cache.size", this, GitHubResponseCache::size).register(meterRegistry);
+    }
+
+    public CachedResponse get(String owner, String url) {
+        CachedResponse cached;
+        synchronized (entries) {
+            cached = entries.get(key(owner, url));
+        }
+
+        if (cached == null)
+            missCounter.increment();
+        else
+            hitCounter.increment();
+
+        return cached;
+    }
+
+    // ETag, Last-Modified 둘 다 없는 응답은 조건부 요청을 보낼 수 없으므로 저장하지 않는다
+    public void put(String owner, String url, HttpHeaders headers, Object body) {
+        String etag = headers.getETag();
+        String lastModified = headers.getFirst(HttpHeaders.LAST_MODIFIED);
+
+        if (body == null || (etag == null && lastModified == null))
+            return;
+
+        synchronized (entries) {
+            entries.put(key(owner, url), new CachedResponse(etag, lastModified, body));
+        }
+    }
+
+    public void evict(String owner, String url) {
+        synchronized (entries) {
+            entries.remove(key(owner, url));
+        }
+    }
+
+    public void recordNotModified() {
+        notModifiedCounter.increment();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private String key(String owner, String url) {
+        return owner + " " + url;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class CachedResponse {
+
+        private final String etag;
+
+        private final String lastModified;
+
+        private final Object body;
+
+        public void applyTo(HttpHeaders headers) {
+            if (etag != null)
+                headers.set(HttpHeaders.IF_NONE_MATCH, etag);
+            if (lastModified != null)
+                headers.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+        }
+    }
+}
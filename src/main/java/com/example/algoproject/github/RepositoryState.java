@@ -0,0 +1,23 @@
+package com.example.algoproject.github;
+
+import com.example.algoproject.github.dto.response.CollaboratorResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// repository 존재 여부와 collaborator 목록. 조회하지 않은 값은 null
+@Getter
+@AllArgsConstructor
+public class RepositoryState {
+
+    private final RepositoryStatus status;
+
+    private final Long repositoryId;
+
+    private final List<CollaboratorResponse> collaborators;
+
+    public static RepositoryState of(RepositoryStatus status) {
+        return new RepositoryState(status, null, null);
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.algoproject.github;
+
+public enum RepositoryStatus {
+    EXISTS, NOT_EXISTS, UNKNOWN;
+}
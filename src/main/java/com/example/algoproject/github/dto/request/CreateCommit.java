@@ -0,0 +1,20 @@
+package com.example.algoproject.github.dto.request;
+
+import lombok.Data;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+@Data
+public class CreateCommit {
+
+    @NotBlank
+    private String message;
+
+    @NotBlank
+    private String tree;
+
+    @NotNull
+    private List<String> parents;
+}
@@ -0,0 +1,36 @@
+package com.example.algoproject.github.dto.request;
+
+import lombok.Data;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class CreateTree {
+
+    @NotBlank
+    private String base_tree;
+
+    @NotNull
+    private List<TreeEntry> tree = new ArrayList<>();
+
+    // content 를 직접 넣으면 github 가 blob 을 같이 만들어 주기 때문에 blob 생성 요청을 따로 보내지 않는다
+    @Data
+    public static class TreeEntry {
+
+        private String path;
+
+        private String mode = "100644";
+
+        private String type = "blob";
+
+        private String content;
+
+        public TreeEntry(String path, String content) {
+            this.path = path;
+            this.content = content;
+        }
+    }
+}
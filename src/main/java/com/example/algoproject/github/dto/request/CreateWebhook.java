@@ -0,0 +1,24 @@
+package com.example.algoproject.github.dto.request;
+
+import lombok.Data;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class CreateWebhook {
+
+    @NotBlank
+    private String name = "web";
+
+    private boolean active = true;
+
+    @NotNull
+    private List<String> events;
+
+    // url, content_type, secret
+    @NotNull
+    private Map<String, String> config;
+}
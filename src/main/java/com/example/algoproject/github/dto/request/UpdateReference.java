@@ -0,0 +1,14 @@
+package com.example.algoproject.github.dto.request;
+
+import lombok.Data;
+
+import javax.validation.constraints.NotBlank;
+
+@Data
+public class UpdateReference {
+
+    @NotBlank
+    private String sha;
+
+    private boolean force;
+}
@@ -0,0 +1,37 @@
+package com.example.algoproject.github.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BranchResponse {
+
+    private String name;
+
+    private BranchCommit commit;
+
+    public String getCommitSha() {
+        return commit.getSha();
+    }
+
+    public String getTreeSha() {
+        return commit.getCommit().getTree().getSha();
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class BranchCommit {
+
+        private String sha;
+
+        private CommitDetail commit;
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class CommitDetail {
+
+        private GitObjectResponse tree;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.algoproject.github.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CollaboratorResponse {
+
+    private Long id;
+
+    private String login;
+}
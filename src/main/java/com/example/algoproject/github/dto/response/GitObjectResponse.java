@@ -0,0 +1,11 @@
+package com.example.algoproject.github.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class GitObjectResponse {
+
+    private String sha;
+}
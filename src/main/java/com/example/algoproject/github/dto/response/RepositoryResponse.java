@@ -0,0 +1,19 @@
+package com.example.algoproject.github.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class RepositoryResponse {
+
+    private Long id;
+
+    private String name;
+
+    private String full_name;
+
+    private String html_url;
+
+    private String default_branch;
+}
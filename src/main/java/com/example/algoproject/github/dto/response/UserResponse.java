@@ -0,0 +1,15 @@
+package com.example.algoproject.github.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class UserResponse {
+
+    private Long id;
+
+    private String login;
+
+    private String avatar_url;
+}
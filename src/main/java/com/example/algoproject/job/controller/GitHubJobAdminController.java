@@ -0,0 +1,32 @@
+package com.example.algoproject.job.controller;
+
+import com.example.algoproject.errors.response.CommonResponse;
+import com.example.algoproject.job.domain.JobType;
+import com.example.algoproject.job.service.GitHubJobAdminService;
+import com.example.algoproject.user.dto.CustomUserDetailsVO;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/job")
+@RestController
+public class GitHubJobAdminController {
+
+    private final GitHubJobAdminService gitHubJobAdminService;
+
+    @Operation(summary = "실패한 github 작업 목록", description = "재시도 횟수를 다 써서 DEAD 로 남은 작업을 최근 순으로 반환")
+    @GetMapping("/dead")
+    public CommonResponse deadJobs(@AuthenticationPrincipal CustomUserDetailsVO cudVO,
+                                   @RequestParam(defaultValue = "100") int limit) {
+        return gitHubJobAdminService.deadJobs(cudVO, limit);
+    }
+
+    @Operation(summary = "실패한 github 작업 재실행", description = "DEAD 작업을 시도 횟수 0 으로 다시 실행. type 을 주면 그 종류만. 다시 실행하게 된 작업 수 반환")
+    @PostMapping("/redrive")
+    public CommonResponse redrive(@AuthenticationPrincipal CustomUserDetailsVO cudVO,
+                                  @RequestParam(required = false) JobType type) {
+        return gitHubJobAdminService.redrive(cudVO, type);
+    }
+}
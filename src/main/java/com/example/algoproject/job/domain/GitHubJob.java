@@ -0,0 +1,101 @@
+package com.example.algoproject.job.domain;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+
+@Getter
+@NoArgsConstructor
+@Entity
+public class GitHubJob {
+
+    private static final int LAST_ERROR_LENGTH = 1000;
+
+    @Id
+    @Column(name = "job_id")
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private JobType type;
+
+    @Enumerated(EnumType.STRING)
+    private JobStatus status;
+
+    // 작업 대상 (solutionId, studyId)
+    private String targetId;
+
+    // 작업에 필요한 추가 정보 (json)
+    @Column(length = 2000)
+    private String payload;
+
+    private int attempts;
+
+    private Timestamp nextRunAt;
+
+    // RUNNING 상태로 이 시간이 지나면 worker 가 죽은 것으로 보고 다시 실행한다
+    private Timestamp lockedUntil;
+
+    @Column(length = LAST_ERROR_LENGTH)
+    private String lastError;
+
+    @Column(updatable = false)
+    @CreationTimestamp
+    private Timestamp createdTime;
+
+    @UpdateTimestamp
+    private Timestamp updatedTime;
+
+    public GitHubJob(JobType type, String targetId, String payload) {
+        this(type, targetId, payload, new Timestamp(System.currentTimeMillis()));
+    }
+
+    public GitHubJob(JobType type, String targetId, String payload, Timestamp nextRunAt) {
+        this.type = type;
+        this.targetId = targetId;
+        this.payload = payload;
+        this.status = JobStatus.PENDING;
+        this.nextRunAt = nextRunAt;
+    }
+
+    public void complete() {
+        this.status = JobStatus.DONE;
+        this.lockedUntil = null;
+    }
+
+    public void retry(String error, Timestamp nextRunAt) {
+        this.attempts++;
+        this.status = JobStatus.PENDING;
+        this.lastError = truncate(error);
+        this.nextRunAt = nextRunAt;
+        this.lockedUntil = null;
+    }
+
+    // github 쪽 사정 (rate limit, circuit breaker) 으로 실행하지 못한 경우. 시도 횟수는 그대로 둔다
+    public void postpone(String error, Timestamp nextRunAt) {
+        this.status = JobStatus.PENDING;
+        this.lastError = truncate(error);
+        this.nextRunAt = nextRunAt;
+        this.lockedUntil = null;
+    }
+
+    public void dead(String error) {
+        this.attempts++;
+        this.status = JobStatus.DEAD;
+        this.lastError = truncate(error);
+        this.lockedUntil = null;
+    }
+
+    //
+    // private
+    //
+
+    // github 응답 본문이 들어간 메세지는 컬럼보다 길 수 있다. 저장하지 못하면 작업이 RUNNING 으로 남아 시도 횟수가 늘지 않는다
+    private static String truncate(String error) {
+        return error != null && error.length() > LAST_ERROR_LENGTH ? error.substring(0, LAST_ERROR_LENGTH) : error;
+    }
+}
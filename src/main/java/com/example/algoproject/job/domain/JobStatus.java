@@ -0,0 +1,5 @@
+package com.example.algoproject.job.domain;
+
+public enum JobStatus {
+    PENDING, RUNNING, DONE, DEAD;
+}
@@ -0,0 +1,5 @@
+package com.example.algoproject.job.domain;
+
+public enum JobType {
+    COMMIT_SOLUTION, DELETE_REPOSITORY, ADD_COLLABORATOR, CREATE_WEBHOOK;
+}
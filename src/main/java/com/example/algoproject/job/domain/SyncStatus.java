@@ -0,0 +1,6 @@
+package com.example.algoproject.job.domain;
+
+// DB 에 반영된 내용이 github 에도 반영되었는지 여부
+public enum SyncStatus {
+    PENDING, SYNCED, FAILED;
+}
@@ -0,0 +1,39 @@
+package com.example.algoproject.job.dto.response;
+
+import com.example.algoproject.job.domain.GitHubJob;
+import com.example.algoproject.job.domain.JobStatus;
+import com.example.algoproject.job.domain.JobType;
+import lombok.Data;
+
+import java.sql.Timestamp;
+
+@Data
+public class JobInfo {
+
+    private Long id;
+
+    private JobType type;
+
+    private JobStatus status;
+
+    private String targetId;
+
+    private int attempts;
+
+    private String lastError;
+
+    private Timestamp createdTime;
+
+    private Timestamp updatedTime;
+
+    public JobInfo(GitHubJob job) {
+        this.id = job.getId();
+        this.type = job.getType();
+        this.status = job.getStatus();
+        this.targetId = job.getTargetId();
+        this.attempts = job.getAttempts();
+        this.lastError = job.getLastError();
+        this.createdTime = job.getCreatedTime();
+        this.updatedTime = job.getUpdatedTime();
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.algoproject.job.repository;
+
+import com.example.algoproject.job.domain.GitHubJob;
+import com.example.algoproject.job.domain.JobStatus;
+import com.example.algoproject.job.domain.JobType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface GitHubJobRepository extends JpaRepository<GitHubJob, Long> {
+
+    List<GitHubJob> findByStatusAndNextRunAtLessThanEqualOrderByNextRunAtAsc(JobStatus status, Timestamp now, Pageable pageable);
+
+    Optional<GitHubJob> findFirstByTypeAndTargetIdAndStatusOrderByIdAsc(JobType type, String targetId, JobStatus status);
+
+    boolean existsByTypeAndTargetIdAndStatusIn(JobType type, String targetId, Collection<JobStatus> statuses);
+
+    // 아직 실행 전(PENDING) 인 작업만 실행 시간을 바꾼다. 그 사이 worker 가 가져갔으면 0 반환
+    @Modifying(flushAutomatically = true, clearAutomatically = true) // 호출한 쪽 transaction 의 변경을 먼저 반영
+    @Query("update GitHubJob j set j.nextRunAt = :nextRunAt " +
+            "where j.id = :id and j.status = com.example.algoproject.job.domain.JobStatus.PENDING")
+    int reschedule(@Param("id") Long id, @Param("nextRunAt") Timestamp nextRunAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update GitHubJob j set j.nextRunAt = :nextRunAt " +
+            "where j.type = :type and j.targetId = :targetId and j.status = com.example.algoproject.job.domain.JobStatus.PENDING")
+    int rescheduleAll(@Param("type") JobType type, @Param("targetId") String targetId, @Param("nextRunAt") Timestamp nextRunAt);
+
+    // 다른 worker 가 먼저 가져간 작업이면 0 반환
+    @Modifying(clearAutomatically = true)
+    @Query("update GitHubJob j set j.status = com.example.algoproject.job.domain.JobStatus.RUNNING, j.lockedUntil = :lockedUntil " +
+            "where j.id = :id and j.status = com.example.algoproject.job.domain.JobStatus.PENDING")
+    int claim(@Param("id") Long id, @Param("lockedUntil") Timestamp lockedUntil);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update GitHubJob j set j.status = com.example.algoproject.job.domain.JobStatus.PENDING, j.lockedUntil = null " +
+            "where j.status = com.example.algoproject.job.domain.JobStatus.RUNNING and j.lockedUntil < :now")
+    int releaseExpired(@Param("now") Timestamp now);
+
+    List<GitHubJob> findByStatusOrderByIdDesc(JobStatus status, Pageable pageable);
+
+    // DEAD 작업을 시도 횟수 0 으로 다시 실행 대상으로 돌린다. type 이 null 이면 전부
+    @Modifying(clearAutomatically = true)
+    @Query("update GitHubJob j set j.status = com.example.algoproject.job.domain.JobStatus.PENDING, j.attempts = 0, j.nextRunAt = :now " +
+            "where j.status = com.example.algoproject.job.domain.JobStatus.DEAD and (:type is null or j.type = :type)")
+    int redriveDead(@Param("type") JobType type, @Param("now") Timestamp now);
+}
@@ -0,0 +1,44 @@
+package com.example.algoproject.job.service;
+
+import com.example.algoproject.errors.exception.NotAdminUserException;
+import com.example.algoproject.errors.response.CommonResponse;
+import com.example.algoproject.errors.response.ResponseService;
+import com.example.algoproject.job.domain.JobType;
+import com.example.algoproject.job.dto.response.JobInfo;
+import com.example.algoproject.user.dto.CustomUserDetailsVO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+@Service
+public class GitHubJobAdminService {
+
+    private final GitHubJobService gitHubJobService;
+    private final ResponseService responseService;
+
+    @Value("${admin.user-ids:}")
+    private List<String> adminIds;
+
+    public CommonResponse deadJobs(CustomUserDetailsVO cudVO, int limit) {
+        checkAdmin(cudVO);
+        return responseService.getListResponse(gitHubJobService.findDead(limit).stream().map(JobInfo::new).toList());
+    }
+
+    // 재시도 횟수를 다 쓴 작업을 처음부터 다시 실행. 다시 실행하게 된 작업 수 반환
+    public CommonResponse redrive(CustomUserDetailsVO cudVO, JobType type) {
+        checkAdmin(cudVO);
+        return responseService.getSingleResponse(gitHubJobService.redriveDead(type));
+    }
+
+    //
+    // private
+    //
+
+    private void checkAdmin(CustomUserDetailsVO cudVO) {
+        if (!adminIds.contains(cudVO.getUsername()))
+            throw new NotAdminUserException();
+    }
+}
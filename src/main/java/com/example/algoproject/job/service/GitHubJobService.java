@@ -0,0 +1,170 @@
+package com.example.algoproject.job.service;
+
+import com.example.algoproject.job.domain.GitHubJob;
+import com.example.algoproject.job.domain.JobStatus;
+import com.example.algoproject.job.domain.JobType;
+import com.example.algoproject.job.repository.GitHubJobRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class GitHubJobService {
+
+    private final GitHubJobRepository gitHubJobRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${github.job.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${github.job.backoff-ms:2000}")
+    private long backoffMillis;
+
+    @Value("${github.job.max-backoff-ms:600000}")
+    private long maxBackoffMillis;
+
+    @Value("${github.job.lease-ms:300000}")
+    private long leaseMillis;
+
+    // 호출한 쪽의 트랜잭션에 같이 묶여서 DB 변경과 작업 등록이 함께 커밋된다
+    @Transactional
+    public void enqueue(JobType type, String targetId, Map<String, String> payload) {
+        try {
+            gitHubJobRepository.save(new GitHubJob(type, targetId, objectMapper.writeValueAsString(payload)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+        log.info(type + " job enqueued for " + targetId);
+    }
+
+    /*
+     같은 대상의 작업이 짧은 시간에 여러 번 들어오면 하나로 합친다. (debounce)
+     아직 실행 전인 작업이 있으면 새로 만들지 않고 실행 시간을 window 만큼 뒤로 미룬다.
+     계속 들어와도 처음 등록 후 maxDelay 가 지나면 미루지 않는다.
+     작업은 실행 시점의 최신 상태를 반영해야 한다. (예: 커밋 시점의 최신 솔루션 내용)
+     */
+    @Transactional
+    public void enqueueDebounced(JobType type, String targetId, Map<String, String> payload, long windowMillis, long maxDelayMillis) {
+        long now = System.currentTimeMillis();
+
+        Optional<GitHubJob> pending = gitHubJobRepository.findFirstByTypeAndTargetIdAndStatusOrderByIdAsc(type, targetId, JobStatus.PENDING);
+        if (pending.isPresent() && pending.get().getAttempts() == 0) { // 재시도 대기 중인 작업은 백오프를 그대로 둔다
+            long deadline = pending.get().getCreatedTime().getTime() + maxDelayMillis;
+            Timestamp nextRunAt = new Timestamp(Math.max(now, Math.min(now + windowMillis, deadline)));
+            if (gitHubJobRepository.reschedule(pending.get().getId(), nextRunAt) == 1) {
+                log.info(type + " job for " + targetId + " postponed to " + nextRunAt);
+                return;
+            }
+        } else if (pending.isPresent()) {
+            return;
+        }
+
+        try {
+            gitHubJobRepository.save(new GitHubJob(type, targetId, objectMapper.writeValueAsString(payload), new Timestamp(now + windowMillis)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+        log.info(type + " job enqueued for " + targetId + " in " + windowMillis + "ms");
+    }
+
+    // 미뤄둔 작업을 바로 실행하도록 한다
+    @Transactional
+    public void flush(JobType type, String targetId) {
+        gitHubJobRepository.rescheduleAll(type, targetId, new Timestamp(System.currentTimeMillis()));
+    }
+
+    // 실행할 시간이 된 작업을 limit 개 까지 RUNNING 으로 바꿔서 가져온다
+    @Transactional
+    public List<GitHubJob> claim(int limit) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        Timestamp lockedUntil = new Timestamp(now.getTime() + leaseMillis);
+
+        // 실행 도중 서버가 죽어서 RUNNING 으로 남은 작업은 다시 실행 대상으로 돌린다
+        int released = gitHubJobRepository.releaseExpired(now);
+        if (released > 0)
+            log.info(released + " expired github jobs released");
+
+        List<GitHubJob> claimed = new ArrayList<>();
+        for (GitHubJob job : gitHubJobRepository.findByStatusAndNextRunAtLessThanEqualOrderByNextRunAtAsc(JobStatus.PENDING, now, PageRequest.of(0, limit)))
+            if (gitHubJobRepository.claim(job.getId(), lockedUntil) == 1)
+                claimed.add(job);
+
+        return claimed;
+    }
+
+    @Transactional
+    public void complete(Long jobId) {
+        gitHubJobRepository.findById(jobId).ifPresent(GitHubJob::complete);
+    }
+
+    // 재시도 횟수를 넘기면 DEAD 로 남기고 true 반환
+    @Transactional
+    public boolean fail(Long jobId, String error) {
+        GitHubJob job = gitHubJobRepository.findById(jobId).orElse(null);
+        if (job == null)
+            return false;
+
+        if (job.getAttempts() + 1 >= maxAttempts) {
+            log.info(job.getType() + " job " + jobId + " is dead: " + error);
+            job.dead(error);
+            return true;
+        }
+
+        // 지수 백오프 (backoff * 2^attempts, 최대 max-backoff)
+        long delay = Math.min(backoffMillis << Math.min(job.getAttempts(), 20), maxBackoffMillis);
+        job.retry(error, new Timestamp(System.currentTimeMillis() + delay));
+        log.info(job.getType() + " job " + jobId + " failed, retry in " + delay + "ms: " + error);
+        return false;
+    }
+
+    // rate limit, circuit breaker 로 거절된 작업은 풀리는 시간 (retryAt) 에 다시 실행한다. 시도 횟수에 넣지 않는다
+    @Transactional
+    public void postpone(Long jobId, long retryAt, String error) {
+        gitHubJobRepository.findById(jobId).ifPresent(job -> {
+            long nextRunAt = Math.max(retryAt, System.currentTimeMillis() + backoffMillis);
+            job.postpone(error, new Timestamp(nextRunAt));
+            log.info(job.getType() + " job " + jobId + " postponed to " + new Timestamp(nextRunAt) + ": " + error);
+        });
+    }
+
+    // 같은 대상에 아직 끝나지 않은 (실행 전이거나 실행 중인) 작업이 있는지
+    @Transactional(readOnly = true)
+    public boolean hasUnfinished(JobType type, String targetId) {
+        return gitHubJobRepository.existsByTypeAndTargetIdAndStatusIn(type, targetId, List.of(JobStatus.PENDING, JobStatus.RUNNING));
+    }
+
+    @Transactional(readOnly = true)
+    public List<GitHubJob> findDead(int limit) {
+        return gitHubJobRepository.findByStatusOrderByIdDesc(JobStatus.DEAD, PageRequest.of(0, limit));
+    }
+
+    // DEAD 작업을 다시 실행. type 이 null 이면 전부
+    @Transactional
+    public int redriveDead(JobType type) {
+        int redriven = gitHubJobRepository.redriveDead(type, new Timestamp(System.currentTimeMillis()));
+        log.info(redriven + " dead github jobs redriven" + (type == null ? "" : " (" + type + ")"));
+        return redriven;
+    }
+
+    public Map<String, String> readPayload(GitHubJob job) {
+        try {
+            return objectMapper.readValue(job.getPayload(), new TypeReference<>() {});
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
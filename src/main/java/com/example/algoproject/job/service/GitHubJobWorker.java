@@ -0,0 +1,85 @@
+package com.example.algoproject.job.service;
+
+import com.example.algoproject.errors.exception.ExceededRateLimitException;
+import com.example.algoproject.errors.exception.GitHubUnavailableException;
+import com.example.algoproject.github.GitHubRateLimiter;
+import com.example.algoproject.job.domain.GitHubJob;
+import com.example.algoproject.job.domain.SyncStatus;
+import com.example.algoproject.solution.service.SolutionService;
+import com.example.algoproject.study.service.StudyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class GitHubJobWorker {
+
+    private final GitHubJobService gitHubJobService;
+    private final SolutionService solutionService;
+    private final StudyService studyService;
+    private final ThreadPoolTaskExecutor gitHubJobExecutor;
+    private final GitHubRateLimiter rateLimiter;
+
+    // worker 에 남는 자리 만큼만 작업을 가져온다
+    @Scheduled(fixedDelayString = "${github.job.poll-interval-ms:1000}")
+    public void poll() {
+        int capacity = gitHubJobExecutor.getMaxPoolSize() - gitHubJobExecutor.getActiveCount();
+        if (capacity <= 0)
+            return;
+
+        for (GitHubJob job : gitHubJobService.claim(capacity))
+            gitHubJobExecutor.execute(() -> run(job));
+    }
+
+    //
+    // private
+    //
+
+    private void run(GitHubJob job) {
+        try {
+            // 사용량이 부족하면 사용자 요청에 양보하도록 백그라운드 우선순위로 실행
+            rateLimiter.runInBackground(() -> execute(job));
+            gitHubJobService.complete(job.getId());
+            updateSyncStatus(job, SyncStatus.SYNCED);
+        } catch (ExceededRateLimitException e) { // github 가 아니라 우리 쪽 제한에 걸린 것이므로 시도 횟수에 넣지 않는다
+            gitHubJobService.postpone(job.getId(), e.getRetryAt(), e.getMessage());
+        } catch (GitHubUnavailableException e) {
+            gitHubJobService.postpone(job.getId(), e.getRetryAt(), e.getMessage());
+        } catch (RuntimeException e) {
+            if (gitHubJobService.fail(job.getId(), e.getMessage()))
+                updateSyncStatus(job, SyncStatus.FAILED);
+        }
+    }
+
+    private void execute(GitHubJob job) {
+        Map<String, String> payload = gitHubJobService.readPayload(job);
+
+        switch (job.getType()) {
+            case COMMIT_SOLUTION -> {
+                Long solutionId = Long.valueOf(job.getTargetId());
+                solutionService.updateCommittedFiles(solutionId, solutionService.commitToGitHub(solutionId));
+            }
+            case DELETE_REPOSITORY -> studyService.deleteRepository(payload.get("leaderId"), payload.get("repositoryName"));
+            case ADD_COLLABORATOR -> studyService.inviteMember(job.getTargetId(), payload.get("memberId"));
+            case CREATE_WEBHOOK -> studyService.createWebhook(job.getTargetId());
+        }
+    }
+
+    // 같은 대상에 뒤에 들어온 작업이 남아 있으면 그 작업의 결과로 상태를 정하도록 바꾸지 않는다 (PENDING 유지)
+    private void updateSyncStatus(GitHubJob job, SyncStatus syncStatus) {
+        if (gitHubJobService.hasUnfinished(job.getType(), job.getTargetId()))
+            return;
+
+        switch (job.getType()) {
+            case COMMIT_SOLUTION -> solutionService.updateSyncStatus(Long.valueOf(job.getTargetId()), syncStatus);
+            case ADD_COLLABORATOR -> studyService.updateSyncStatus(job.getTargetId(), syncStatus);
+            default -> { } // 삭제된 스터디는 상태를 남길 곳이 없음
+        }
+    }
+}
@@ -3,7 +3,7 @@ package com.example.algoproject.problem.dto.response;
 import com.example.algoproject.problem.domain.Platform;
 import com.example.algoproject.problem.domain.Problem;
 import com.example.algoproject.session.domain.Session;
-import com.example.algoproject.solution.domain.Solution;
+import com.example.algoproject.solution.dto.response.SolutionSummary;
 import lombok.Data;
 
 import javax.validation.constraints.NotBlank;
@@ -25,13 +25,13 @@ public class ProblemInfo {
     @NotNull
     private Platform platform;
 
-    private List<Solution> solutions;
+    private List<SolutionSummary> solutions;
 
-    public ProblemInfo(Problem problem) {
+    public ProblemInfo(Problem problem, List<SolutionSummary> solutions) {
         this.number = problem.getNumber();
         this.name = problem.getName();
         this.url = problem.getUrl();
         this.platform = problem.getPlatform();
-        this.solutions = problem.getSolutions();
+        this.solutions = solutions;
     }
 }
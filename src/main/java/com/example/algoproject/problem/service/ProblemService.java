@@ -11,13 +11,17 @@ import com.example.algoproject.problem.dto.response.ProblemInfo;
 import com.example.algoproject.problem.repository.ProblemRepository;
 import com.example.algoproject.session.domain.Session;
 import com.example.algoproject.session.service.SessionService;
+import com.example.algoproject.solution.dto.response.SolutionSummary;
+import com.example.algoproject.solution.repository.SolutionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -27,6 +31,7 @@ public class ProblemService {
     private final ProblemRepository problemRepository;
     private final ResponseService responseService;
     private final SessionService sessionService;
+    private final SolutionRepository solutionRepository;
 
     @Transactional
     public CommonResponse create(AddProblem request) {
@@ -43,7 +48,8 @@ public class ProblemService {
 
     @Transactional
     public CommonResponse detail(Long id) {
-        return responseService.getSingleResponse(new ProblemInfo(findById(id)));
+        Problem problem = findById(id);
+        return responseService.getSingleResponse(new ProblemInfo(problem, solutionRepository.findSummariesByProblemIds(List.of(problem.getId()))));
     }
 
     @Transactional
@@ -66,10 +72,16 @@ public class ProblemService {
     // private
     //
 
+    // 문제들의 풀이 요약은 IN 조회 한 번으로 가져와 문제 별로 나눈다
     private List<ProblemInfo> getProblemInfos(List<Problem> problems) {
+        Map<Long, List<SolutionSummary>> solutions = new HashMap<>();
+        if (!problems.isEmpty())
+            for (SolutionSummary summary : solutionRepository.findSummariesByProblemIds(problems.stream().map(Problem::getId).toList()))
+                solutions.computeIfAbsent(summary.getProblemId(), id -> new ArrayList<>()).add(summary);
+
         List<ProblemInfo> infos = new ArrayList<>();
         for (Problem problem : problems)
-            infos.add(new ProblemInfo(problem));
+            infos.add(new ProblemInfo(problem, solutions.getOrDefault(problem.getId(), List.of())));
         return infos;
     }
 }
@@ -32,7 +32,7 @@ public class Review {
     private Timestamp updatedTime;
 
     @JsonIgnore
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "solution_id")
     private Solution solution;
 
@@ -0,0 +1,36 @@
+package com.example.algoproject.review.dto;
+
+import com.example.algoproject.review.domain.Review;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import java.sql.Timestamp;
+
+@Data
+public class ReviewInfo {
+
+    @NotNull
+    private Long id;
+
+    @NotBlank
+    private String writerId;
+
+    @NotBlank
+    private String content;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm", timezone = "Asia/Seoul")
+    private Timestamp createdTime;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm", timezone = "Asia/Seoul")
+    private Timestamp updatedTime;
+
+    public ReviewInfo(Review review) {
+        this.id = review.getId();
+        this.writerId = review.getWriterId();
+        this.content = review.getContent();
+        this.createdTime = review.getCreatedTime();
+        this.updatedTime = review.getUpdatedTime();
+    }
+}
@@ -24,6 +24,9 @@ public class JWTUtil {
     @Value("${jwt.secret}")
     private String key;
 
+    @Value("${jwt.expire-minutes:60}")
+    private long expireMinutes;
+
     private final CustomUserDetailsService customUserDetailsService;
 
     // key Base64로 인코딩
@@ -40,7 +43,7 @@ public class JWTUtil {
         return Jwts.builder()
                 .setHeaderParam(Header.TYPE, Header.JWT_TYPE)
                 .setIssuedAt(now)
-                .setExpiration(new Date(now.getTime() + Duration.ofMinutes(60).toMillis()))
+                .setExpiration(new Date(now.getTime() + Duration.ofMinutes(expireMinutes).toMillis()))
                 .claim("id", id)
                 .signWith(SignatureAlgorithm.HS256, key)
                 .compact();
@@ -0,0 +1,61 @@
+package com.example.algoproject.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * /actuator/prometheus 는 로그인한 유저가 아닌 prometheus 가 가져가므로 유저 JWT 대신 scrape 전용 토큰 (Authorization: Bearer ...) 으로 확인한다.
+ * 토큰이 설정되지 않았으면 모든 요청을 거절한다
+ */
+@RequiredArgsConstructor
+public class MetricsScrapeFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    private final String scrapeToken;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        if (isValid(request.getHeader(HttpHeaders.AUTHORIZATION))) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("code", HttpStatus.UNAUTHORIZED.value());
+        errorDetails.put("message", "유효하지 않은 scrape 토큰입니다.");
+
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+
+        objectMapper.writeValue(response.getWriter(), errorDetails);
+    }
+
+    //
+    // private
+    //
+
+    private boolean isValid(String authorization) {
+        if (scrapeToken.isBlank() || authorization == null || !authorization.startsWith(BEARER))
+            return false;
+
+        return MessageDigest.isEqual(scrapeToken.getBytes(StandardCharsets.UTF_8),
+                authorization.substring(BEARER.length()).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -2,6 +2,7 @@ package com.example.algoproject.security;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -27,13 +28,16 @@ public class SecurityConfig {
     private final JWTUtil jwtUtil;
     private final ObjectMapper objectMapper;
 
+    @Value("${metrics.scrape-token:}")
+    private String scrapeToken;
+
     @Bean
     @Order(0)
     public SecurityFilterChain resources(HttpSecurity http) throws Exception {
         http
             .requestMatchers((matchers) -> matchers.requestMatchers(PathRequest.toStaticResources().atCommonLocations())) // Static 파일 (html,js,favicon)에 대해서 filter를 적용시키지 않기 위한 것
             .requestMatchers((matchers) -> matchers.antMatchers("/configuration/ui", "/api/problem/platform",
-                        "/configuration/security", "/webjars/**", "/", "/csrf", "/error", "/api/user/login", "/v3/api-docs/**", "/configuration/**", "/swagger*/**", "/webjars/**")) // 필터를 적용시키고 싶지 않은 URL
+                        "/configuration/security", "/webjars/**", "/", "/csrf", "/error", "/api/user/login", "/api/user/refresh", "/api/user/logout", "/api/github/webhook", "/actuator/health", "/v3/api-docs/**", "/configuration/**", "/swagger*/**", "/webjars/**")) // 필터를 적용시키고 싶지 않은 URL
             .authorizeHttpRequests((authorize) -> authorize.anyRequest().permitAll())
             .requestCache().disable()
             .securityContext().disable()
@@ -42,6 +46,22 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // 유저 JWT 는 로그인한 누구나 받을 수 있으므로 metrics 는 scrape 전용 토큰으로만 열어준다
+    @Bean
+    @Order(1)
+    public SecurityFilterChain metrics(HttpSecurity http) throws Exception {
+        http
+            .requestMatchers((matchers) -> matchers.antMatchers("/actuator/prometheus"))
+            .httpBasic().disable()
+            .csrf().disable()
+            .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+            .and()
+            .authorizeHttpRequests((authorize) -> authorize.anyRequest().permitAll())
+            .addFilterBefore(new MetricsScrapeFilter(scrapeToken, objectMapper), UsernamePasswordAuthenticationFilter.class);
+
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http.httpBasic().disable()
@@ -50,7 +70,9 @@ public class SecurityConfig {
             .and()
             .authorizeRequests()
             .antMatchers("/api/user/login").permitAll()
+            .antMatchers("/api/user/refresh", "/api/user/logout").permitAll()
             .antMatchers("/api/problem/platform").permitAll()
+            .antMatchers("/api/github/webhook").permitAll()
             .antMatchers(HttpMethod.OPTIONS, "/**").permitAll()
             .and()
             .cors()
@@ -32,7 +32,7 @@ public class SessionService {
     @Transactional
     public CommonResponse list(String studyId) {
         return responseService.getListResponse(
-                sessionRepository.findByStudy(studyService.getStudy(studyId)));
+                sessionRepository.findByStudy(studyService.getStudy(studyId)).stream().map(SessionInfo::new).toList());
     }
 
     @Transactional
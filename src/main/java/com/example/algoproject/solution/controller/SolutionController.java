@@ -44,6 +44,12 @@ public class SolutionController {
         return solutionService.update(cudVO, solutionId, solution);
     }
 
+    @Operation(summary="솔루션 github 반영", description="저장 후 대기 중인 github 커밋을 바로 실행")
+    @PostMapping("/flush/{solutionId}")
+    public CommonResponse solutionFlush(@AuthenticationPrincipal CustomUserDetailsVO cudVO, @PathVariable("solutionId") Long solutionId) {
+        return solutionService.flush(cudVO, solutionId);
+    }
+
     @Operation(summary="솔루션 삭제", description="등록한 솔루션을 삭제")
     @DeleteMapping("/delete/{solutionId}")
     public CommonResponse solutionRemove(@AuthenticationPrincipal CustomUserDetailsVO cudVO, @PathVariable("solutionId") Long solutionId) {
@@ -1,7 +1,9 @@
 package com.example.algoproject.solution.domain;
 
+import com.example.algoproject.job.domain.SyncStatus;
 import com.example.algoproject.review.domain.Review;
 import com.example.algoproject.problem.domain.Problem;
+import com.example.algoproject.storage.StoredContent;
 import com.example.algoproject.user.domain.User;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,11 +11,23 @@ import lombok.NoArgsConstructor;
 import javax.persistence.*;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Data
 @NoArgsConstructor
 @Entity
+// worker 가 트랜잭션 밖에서 커밋할 때 필요한 연관 엔티티를 한 번에 가져온다
+@NamedEntityGraph(name = "Solution.commit", attributeNodes = {
+        @NamedAttributeNode("user"),
+        @NamedAttributeNode(value = "problem", subgraph = "problem"),
+        @NamedAttributeNode("committedFiles")
+}, subgraphs = {
+        @NamedSubgraph(name = "problem", attributeNodes = @NamedAttributeNode(value = "session", subgraph = "session")),
+        @NamedSubgraph(name = "session", attributeNodes = @NamedAttributeNode("study"))
+})
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_solution_problem_user", columnNames = {"problem_id", "user_id"}))
 public class Solution {
 
 
@@ -22,22 +36,45 @@ public class Solution {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "problem_id")
     private Problem problem;
 
-    private String code;
-
-    private String readMe;
+    // code, readMe 본문은 저장소 (ContentStore) 에 두고 key, 크기, 해시만 저장한다
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "key", column = @Column(name = "code_key")),
+            @AttributeOverride(name = "size", column = @Column(name = "code_size")),
+            @AttributeOverride(name = "hash", column = @Column(name = "code_hash", length = 64))
+    })
+    private StoredContent code;
+
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "key", column = @Column(name = "read_me_key")),
+            @AttributeOverride(name = "size", column = @Column(name = "read_me_size")),
+            @AttributeOverride(name = "hash", column = @Column(name = "read_me_hash", length = 64))
+    })
+    private StoredContent readMe;
 
     private Timestamp date; //등록 날짜/시간
 
     private Language language; //사용 언어
 
+    @Enumerated(EnumType.STRING)
+    private SyncStatus syncStatus; // github 커밋 반영 여부
+
+    // github 에 마지막으로 커밋한 파일 (경로 -> blob sha). 내용이 같은 파일은 다시 커밋하지 않는다
+    @ElementCollection
+    @CollectionTable(name = "solution_file", joinColumns = @JoinColumn(name = "solution_id"))
+    @MapKeyColumn(name = "path")
+    @Column(name = "blob_sha")
+    private Map<String, String> committedFiles = new HashMap<>();
+
     @OneToMany(
             mappedBy = "solution",
             cascade = CascadeType.ALL,
@@ -45,13 +82,14 @@ public class Solution {
     )
     private List<Review> reviews = new ArrayList<>();
 
-    public Solution(User user, Problem problem, String code, String readMe, Timestamp date, String language) {
+    public Solution(User user, Problem problem, StoredContent code, StoredContent readMe, Timestamp date, String language) {
         this.user = user;
         this.problem = problem;
         this.code = code;
         this.readMe = readMe;
         this.date = date;
         this.language = Language.valueOf(language);
+        this.syncStatus = SyncStatus.PENDING;
     }
 
     public void addReview(Review review) {
@@ -1,6 +1,7 @@
 package com.example.algoproject.solution.dto.response;
 
-import com.example.algoproject.review.domain.Review;
+import com.example.algoproject.job.domain.SyncStatus;
+import com.example.algoproject.review.dto.ReviewInfo;
 import lombok.Data;
 
 import javax.persistence.Lob;
@@ -22,12 +23,15 @@ public class SolutionInfo {
     @NotBlank
     private Timestamp date; //등록 날짜/시간
 
-    private List<Review> reviews;
+    private List<ReviewInfo> reviews;
 
-    public SolutionInfo(String code, String readMe, Timestamp date, List<Review> reviews) {
+    private SyncStatus syncStatus; // github 커밋 반영 여부
+
+    public SolutionInfo(String code, String readMe, Timestamp date, List<ReviewInfo> reviews, SyncStatus syncStatus) {
         this.code = code;
         this.readMe = readMe;
         this.date = date;
         this.reviews = reviews;
+        this.syncStatus = syncStatus;
     }
 }
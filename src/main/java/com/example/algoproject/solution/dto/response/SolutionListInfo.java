@@ -32,4 +32,13 @@ public class SolutionListInfo {
         this.imageUrl = imageUrl;
         this.language = Language.valueOf(language);
     }
+
+    // 조회 쿼리의 projection 용. 풀지 않은 팀원은 solutionId, language 가 null 로 온다
+    public SolutionListInfo(Long solutionId, String name, String imageUrl, Language language) {
+        this.solve = solutionId != null;
+        this.solutionId = solutionId;
+        this.name = name;
+        this.imageUrl = imageUrl;
+        this.language = language == null ? Language.none : language;
+    }
 }
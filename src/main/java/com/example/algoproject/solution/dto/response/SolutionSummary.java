@@ -0,0 +1,39 @@
+package com.example.algoproject.solution.dto.response;
+
+import com.example.algoproject.solution.domain.Language;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import java.util.Date;
+
+// 문제 조회에 같이 내려가는 풀이 요약. code, readMe 는 포함하지 않는다
+@Data
+public class SolutionSummary {
+
+    @JsonIgnore
+    private Long problemId;
+
+    @NotNull
+    private Long solutionId;
+
+    @NotBlank
+    private String name;
+
+    private String imageUrl;
+
+    @NotNull
+    private Language language;
+
+    private Date date;
+
+    public SolutionSummary(Long problemId, Long solutionId, String name, String imageUrl, Language language, Date date) {
+        this.problemId = problemId;
+        this.solutionId = solutionId;
+        this.name = name;
+        this.imageUrl = imageUrl;
+        this.language = language;
+        this.date = date;
+    }
+}
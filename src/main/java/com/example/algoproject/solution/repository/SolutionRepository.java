@@ -2,10 +2,15 @@ package com.example.algoproject.solution.repository;
 
 import com.example.algoproject.problem.domain.Problem;
 import com.example.algoproject.solution.domain.Solution;
-import com.example.algoproject.user.domain.User;
+import com.example.algoproject.solution.dto.response.SolutionListInfo;
+import com.example.algoproject.solution.dto.response.SolutionSummary;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,5 +18,40 @@ import java.util.Optional;
 public interface SolutionRepository extends JpaRepository<Solution, Long> {
 
     List<Solution> findByProblem(Problem problem);
-    Optional<Solution> findByProblemAndUser(Problem problem, User user);
+    boolean existsByProblem_IdAndUser_Id(Long problemId, String userId);
+
+    @EntityGraph("Solution.commit")
+    Optional<Solution> findWithCommitTargetById(Long id);
+
+    // 여러 문제의 풀이 요약. code, readMe 는 읽지 않는다
+    @Query("select new com.example.algoproject.solution.dto.response.SolutionSummary(s.problem.id, s.id, u.name, u.imageUrl, s.language, s.date) " +
+            "from Solution s join s.user u where s.problem.id in :problemIds order by s.id")
+    List<SolutionSummary> findSummariesByProblemIds(@Param("problemIds") Collection<Long> problemIds);
+
+    // 문제가 속한 스터디의 팀원 별 풀이 여부. code, readMe 는 읽지 않는다
+    @Query("select new com.example.algoproject.solution.dto.response.SolutionListInfo(s.id, m.name, m.imageUrl, s.language) " +
+            "from Problem p join p.session se join BelongsTo b on b.study = se.study join b.member m " +
+            "left join Solution s on s.problem = p and s.user = m " +
+            "where p.id = :problemId order by b.id")
+    List<SolutionListInfo> findSolveStatusByProblemId(@Param("problemId") Long problemId);
+
+    // V3 이전 풀이의 본문. SolutionContentBackfill 이 옮기기 전까지는 엔티티에 매핑하지 않은 code, read_me 컬럼에 있다
+    // 엔티티를 읽은 뒤에 옮겨졌을 수 있으므로 key 도 같이 읽는다
+    @Query(value = "select code as code, read_me as readMe, code_key as codeKey, code_size as codeSize, " +
+            "read_me_key as readMeKey, read_me_size as readMeSize from solution where solution_id = :id", nativeQuery = true)
+    Optional<ContentRow> findContentRowById(@Param("id") Long id);
+
+    interface ContentRow {
+        String getCode();
+
+        String getReadMe();
+
+        String getCodeKey();
+
+        Long getCodeSize();
+
+        String getReadMeKey();
+
+        Long getReadMeSize();
+    }
 }
\ No newline at end of file
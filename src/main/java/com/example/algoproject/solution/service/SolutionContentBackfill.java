@@ -0,0 +1,106 @@
+package com.example.algoproject.solution.service;
+
+import com.example.algoproject.storage.ContentStore;
+import com.example.algoproject.storage.StoredContent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/*
+ * V3 이전에 등록된 풀이의 code, read_me 를 저장소로 옮기고 row 에는 key 만 남긴다.
+ * 엔티티는 더 이상 code, read_me 컬럼을 매핑하지 않으므로 jdbc 로 직접 읽고 쓴다. 옮기기 전에는 SolutionService 가 컬럼에서 읽는다.
+ * solution_id 순서로 한 번 훑고 끝낸다. 옮기지 못한 풀이는 건너뛰고 로그를 남기며, 다음 서버 시작 때 다시 시도한다.
+ * 여러 서버에서 동시에 돌아도 key 가 없는 row 만 갱신하므로 결과는 같다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class SolutionContentBackfill {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ContentStore contentStore;
+
+    private volatile boolean done;
+    private volatile long lastId; // 확인한 마지막 solution_id
+    private volatile int failed;
+
+    @Value("${storage.backfill.batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(initialDelayString = "${storage.backfill.initial-delay-ms:10000}", fixedDelayString = "${storage.backfill.interval-ms:1000}")
+    public void run() {
+        if (done)
+            return;
+
+        List<Map<String, Object>> rows;
+        try {
+            rows = jdbcTemplate.queryForList(
+                    "select solution_id, code, read_me from solution" +
+                    " where solution_id > ? and code_key is null and read_me_key is null and (code is not null or read_me is not null)" +
+                    " order by solution_id limit ?", lastId, batchSize);
+        } catch (RuntimeException e) {
+            log.warn("solution content backfill query failed: " + e.getMessage());
+            return;
+        }
+
+        if (rows.isEmpty()) {
+            if (failed > 0)
+                log.error("solution content backfill finished, " + failed + " solutions could not be moved");
+            else
+                log.info("solution content backfill finished");
+            done = true;
+            return;
+        }
+
+        int moved = 0;
+        for (Map<String, Object> row : rows) {
+            long solutionId = ((Number) row.get("solution_id")).longValue();
+            lastId = solutionId;
+            try {
+                move(solutionId, (String) row.get("code"), (String) row.get("read_me"));
+                moved++;
+            } catch (RuntimeException e) {
+                failed++;
+                log.warn("solution content backfill failed for solution " + solutionId + ": " + e.getMessage());
+            }
+        }
+
+        log.info("solution content backfill moved " + moved + " solutions");
+    }
+
+    //
+    // private
+    //
+
+    // 옮기는 사이에 풀이가 수정되어 key 가 생겼으면 수정된 내용을 그대로 둔다
+    private void move(long solutionId, String code, String readMe) {
+        StoredContent storedCode = contentStore.save(code);
+        StoredContent storedReadMe = contentStore.save(readMe);
+
+        jdbcTemplate.update(
+                "update solution set code_key = ?, code_size = ?, code_hash = ?, read_me_key = ?, read_me_size = ?, read_me_hash = ?," +
+                " code = null, read_me = null" +
+                " where solution_id = ? and code_key is null and read_me_key is null",
+                key(storedCode), size(storedCode), hash(storedCode),
+                key(storedReadMe), size(storedReadMe), hash(storedReadMe),
+                solutionId);
+    }
+
+    private String key(StoredContent stored) {
+        return stored == null ? null : stored.getKey();
+    }
+
+    private Long size(StoredContent stored) {
+        return stored == null ? null : stored.getSize();
+    }
+
+    private String hash(StoredContent stored) {
+        return stored == null ? null : stored.getHash();
+    }
+}
@@ -1,35 +1,39 @@
 package com.example.algoproject.solution.service;
 
-import com.example.algoproject.belongsto.domain.BelongsTo;
-import com.example.algoproject.belongsto.service.BelongsToService;
 import com.example.algoproject.errors.exception.AlreadyExistSolutionException;
 import com.example.algoproject.errors.exception.NotExistSolutionException;
 import com.example.algoproject.errors.exception.NotMySolutionException;
+import com.example.algoproject.errors.exception.TooLargeSolutionException;
 import com.example.algoproject.errors.response.CommonResponse;
 import com.example.algoproject.errors.response.ResponseService;
+import com.example.algoproject.github.GitHubClient;
+import com.example.algoproject.job.domain.JobType;
+import com.example.algoproject.job.domain.SyncStatus;
+import com.example.algoproject.job.service.GitHubJobService;
 import com.example.algoproject.problem.domain.Problem;
 import com.example.algoproject.problem.service.ProblemService;
+import com.example.algoproject.review.dto.ReviewInfo;
 import com.example.algoproject.solution.domain.Language;
 import com.example.algoproject.solution.domain.Solution;
 import com.example.algoproject.solution.dto.request.AddSolution;
-import com.example.algoproject.solution.dto.request.CommitFileRequest;
 import com.example.algoproject.solution.dto.request.UpdateSolution;
 import com.example.algoproject.solution.dto.response.SolutionInfo;
 import com.example.algoproject.solution.dto.response.SolutionListInfo;
 import com.example.algoproject.solution.repository.SolutionRepository;
+import com.example.algoproject.storage.ContentStore;
+import com.example.algoproject.storage.StoredContent;
 import com.example.algoproject.study.domain.Study;
-import com.example.algoproject.study.service.StudyService;
 import com.example.algoproject.user.domain.User;
 import com.example.algoproject.user.dto.CustomUserDetailsVO;
 import com.example.algoproject.user.service.UserService;
+import com.example.algoproject.util.GitHashUtil;
 import com.example.algoproject.util.PathUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
 import java.sql.Timestamp;
@@ -43,92 +47,109 @@ public class SolutionService {
     private final SolutionRepository solutionRepository;
     private final UserService userService;
     private final ProblemService problemService;
-    private final StudyService studyService;
-    private final BelongsToService belongsToService;
 
     private final ResponseService responseService;
     private final PathUtil pathUtil;
+    private final GitHashUtil gitHashUtil;
+    private final GitHubClient gitHubClient;
+    private final GitHubJobService gitHubJobService;
+    private final ContentStore contentStore;
 
+    // 마지막 저장 후 이 시간 동안 다시 저장하지 않으면 커밋
+    @Value("${solution.commit.debounce-ms:30000}")
+    private long commitDebounceMillis;
+
+    // 계속 저장하더라도 처음 저장 후 이 시간이 지나면 커밋
+    @Value("${solution.commit.max-delay-ms:300000}")
+    private long commitMaxDelayMillis;
+
+    @Value("${solution.max-bytes:1048576}")
+    private long maxBytes;
+
+    @Transactional
     public CommonResponse create(CustomUserDetailsVO cudVO, AddSolution addSolution) throws IOException {
 
         User user = userService.findByUserId(cudVO.getUsername());
         Problem problem = problemService.findById(addSolution.getProblemId());
-        Study study = studyService.findByStudyId(problem.getSession().getStudy().getStudyId());
-        Optional<Solution> alreadyExist = solutionRepository.findByProblemAndUser(problem, user);
 
-        if (alreadyExist.isPresent()) // 이미 현재유저가 해당 문제에 솔루션 등록한 경우
+        if (solutionRepository.existsByProblem_IdAndUser_Id(problem.getId(), user.getId())) // 이미 현재유저가 해당 문제에 솔루션 등록한 경우
             throw new AlreadyExistSolutionException();
 
-        String gitHubPath = pathUtil.makeGitHubPath(problem, user.getName());
-        log.info("github repository path : " + gitHubPath);
+        checkSize(addSolution.getCode(), addSolution.getReadMe());
 
         long date = System.currentTimeMillis(); // 솔루션 등록한 시간 기록
-        String commitMessage = pathUtil.makeCommitMessage(problem, user.getName()); // 커밋메세지 만듦
-        String fileName = problem.getNumber() + "." + addSolution.getLanguage(); // ***이거 프론트에서 언어 어케 주는지에 따라 매핑 해줘야될듯....
 
-        /* github에 file commit */
-        checkFileResponse(user, addSolution.getCode(), fileName, commitMessage, gitHubPath, study.getRepositoryName()); // code
-        checkFileResponse(user, addSolution.getReadMe(), "README.md", commitMessage, gitHubPath, study.getRepositoryName()); // readMe
+        /* 본문은 저장소에, key 는 DB에 저장 */
+        StoredContent code = contentStore.save(addSolution.getCode());
+        StoredContent readMe = contentStore.save(addSolution.getReadMe());
 
-        /* DB에 저장 */
-        solutionRepository.save(new Solution(user, problem, addSolution.getCode(), addSolution.getReadMe(), new Timestamp(date), addSolution.getLanguage()));
+        Solution solution;
+        try {
+            solution = solutionRepository.save(new Solution(user, problem, code, readMe, new Timestamp(date), addSolution.getLanguage()));
+        } catch (DataIntegrityViolationException e) { // 같은 유저가 동시에 등록한 경우 (problem_id, user_id unique)
+            throw new AlreadyExistSolutionException();
+        }
 
-        return responseService.getSuccessResponse();
+        /* github 커밋은 작업 큐에 등록 후 worker 가 처리 (syncStatus 로 반영 여부 확인). 첫 커밋은 합칠 것이 없으므로 바로 실행 */
+        gitHubJobService.enqueue(JobType.COMMIT_SOLUTION, solution.getId().toString(), Map.of());
+
+        return responseService.getSingleResponse(solution.getId());
     }
 
+    @Transactional(readOnly = true)
     public CommonResponse detail(CustomUserDetailsVO cudVO, Long solutionId) {
 
         Solution solution = solutionRepository.findById(solutionId).orElseThrow(NotExistSolutionException::new);
+        List<ReviewInfo> reviews = solution.getReviews().stream().map(ReviewInfo::new).toList();
+        SolutionContent content = readContent(solution);
 
-        return responseService.getSingleResponse(new SolutionInfo(solution.getCode(), solution.getReadMe(), solution.getDate(), solution.getReviews()));
+        return responseService.getSingleResponse(new SolutionInfo(content.code(), content.readMe(), solution.getDate(), reviews, solution.getSyncStatus()));
 
     }
 
     public CommonResponse list(CustomUserDetailsVO cudVO, Long problemId) {
 
-        Problem problem = problemService.findById(problemId);
-        Study study = studyService.findByStudyId(problem.getSession().getStudy().getStudyId());
-        List<BelongsTo> belongs =  belongsToService.findByStudy(study);
-        List<Solution> solutions = solutionRepository.findByProblem(problem); // null일 수도 있음
-        List<SolutionListInfo> list = new ArrayList<>();
-
-        for (User member: getMemberList(belongs)) { // 현재 스터디의 팀원들 중에서, probelmId를 푼 팀원은 언어와 풀이여부 true 반환. 안 풀었으면 false 반환.
-            SolutionListInfo info = new SolutionListInfo(false, null, member.getName(), member.getImageUrl(), "none"); // language enum 타입이라 null 안됨.. 일단 nont으로 해둠
-
-            for (Solution solution: solutions) {
-                if (solution.getUser().equals(member)) {
-                    info.setSolutionId(solution.getId());
-                    info.setLanguage(solution.getLanguage());
-                    info.setSolve(true);
-                }
-            }
-            list.add(info);
-        }
+        // 문제가 속한 스터디의 팀원마다 한 줄. 푼 팀원은 풀이 id 와 언어가 채워지고, 안 풀었으면 solve false, 언어 none
+        List<SolutionListInfo> list = solutionRepository.findSolveStatusByProblemId(problemId);
+
+        // 스터디에는 항상 팀장이 있으므로 결과가 비어 있으면 문제가 없는 것
+        if (list.isEmpty())
+            problemService.findById(problemId);
+
         return responseService.getListResponse(list);
     }
 
+    @Transactional
     public CommonResponse update(CustomUserDetailsVO cudVO, Long solutionId, UpdateSolution updateSolution) throws IOException {
 
-        User user = userService.findByUserId(cudVO.getUsername());
         Solution solution = solutionRepository.findById(solutionId).orElseThrow(NotExistSolutionException::new);
-        Problem problem = problemService.findById(updateSolution.getProblemId());
-        Study study = studyService.findByStudyId(problem.getSession().getStudy().getStudyId());
-
-        String gitHubPath = pathUtil.makeGitHubPath(solution.getProblem(), user.getName());
-
-        String commitMessage = pathUtil.makeCommitMessage(problem, user.getName()); // 커밋메세지 만듦
-        String fileName = problem.getNumber() + "." + updateSolution.getLanguage(); // ***이거 프론트에서 언어 어케 주는지에 따라 매핑 해줘야될듯....
 
-        /* github에 file commit */
-        checkFileResponse(user, updateSolution.getCode(), fileName, commitMessage, gitHubPath, study.getRepositoryName());
-        checkFileResponse(user, updateSolution.getReadMe(), "README.md", commitMessage, gitHubPath, study.getRepositoryName());
+        checkSize(updateSolution.getCode(), updateSolution.getReadMe());
 
         solution.setDate(new Timestamp(System.currentTimeMillis()));
-        solution.setCode(updateSolution.getCode());
-        solution.setReadMe(updateSolution.getReadMe());
+        solution.setCode(contentStore.save(updateSolution.getCode()));
+        solution.setReadMe(contentStore.save(updateSolution.getReadMe()));
         solution.setLanguage(Language.valueOf(updateSolution.getLanguage()));
+        solution.setSyncStatus(SyncStatus.PENDING);
         solutionRepository.save(solution);
 
+        /* github 커밋은 작업 큐에 등록 후 worker 가 처리. 짧은 시간에 여러 번 저장하면 마지막 내용으로 한 번만 커밋 */
+        enqueueCommit(solution.getId());
+
+        return responseService.getSuccessResponse();
+    }
+
+    // 미뤄둔 github 커밋을 바로 실행
+    @Transactional
+    public CommonResponse flush(CustomUserDetailsVO cudVO, Long solutionId) {
+
+        Solution solution = solutionRepository.findById(solutionId).orElseThrow(NotExistSolutionException::new);
+
+        if (!cudVO.getUsername().equals(solution.getUser().getId())) // 내 솔루션만 가능
+            throw new NotMySolutionException();
+
+        gitHubJobService.flush(JobType.COMMIT_SOLUTION, solutionId.toString());
+
         return responseService.getSuccessResponse();
     }
 
@@ -153,70 +174,123 @@ public class SolutionService {
     }
 
     /*
-    private method
-    */
-
-    private void checkFileResponse(User user, String content, String fileName, String commitMessage, String path, String repoName) throws IOException {
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("Accept", "application/vnd.github.v3+json");
-        headers.add("User-Agent", "api-test");
-        headers.add("Authorization", "token " + user.getAccessToken());
-
-        RestTemplate restTemplate = new RestTemplate();
-
-        HttpEntity entity = new HttpEntity<>(headers); // http entity에 header 담아줌
-        try { // 깃허브에 파일 존재.
-            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-                    "https://api.github.com/repos/" + user.getName() + "/" + repoName + "/contents/" + path + fileName,
-                    HttpMethod.GET,
-                    entity,
-                    new ParameterizedTypeReference<>() {
-                    });
-
-            commitFileResponse(response.getBody().get("sha").toString(), user, content, fileName, path, repoName, commitMessage);
-        } catch (HttpClientErrorException e) { // 깃허브에 파일 존재 x. 새로 생성되는 파일인 경우 404 에러 뜸.
-            commitFileResponse(null, user, content, fileName, path, repoName, commitMessage);
+     github 작업 worker 에서 호출. 커밋 시점의 최신 code, readMe 중 바뀐 파일만 하나의 커밋으로 올림
+     커밋한 파일의 (경로 -> blob sha) 를 반환
+     */
+    public Map<String, String> commitToGitHub(Long solutionId) {
+
+        // 트랜잭션 밖이므로 user, problem -> session -> study, committedFiles 를 같이 가져온다
+        Optional<Solution> found = solutionRepository.findWithCommitTargetById(solutionId);
+        if (found.isEmpty()) { // 커밋 전에 삭제된 솔루션
+            log.info("solution " + solutionId + " deleted before commit");
+            return Map.of();
         }
-    }
 
-    /* github file commit 메소드 */
-    private Map<String, Object> commitFileResponse(String sha, User user, String content, String fileName, String path, String repoName, String commitMessage) throws IOException {
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("Accept", "application/vnd.github.v3+json");
-        headers.add("User-Agent", "api-test");
-        headers.add("Authorization", "token " + user.getAccessToken());
+        Solution solution = found.get();
+        User user = solution.getUser();
+        Problem problem = solution.getProblem();
+        Study study = problem.getSession().getStudy();
 
-        CommitFileRequest request = new CommitFileRequest();
-        request.setMessage(commitMessage);
-        request.setContent(Base64.getEncoder().encodeToString(content.getBytes())); // 내용 base64로 인코딩 해줘야됨 (필수)
+        String gitHubPath = pathUtil.makeGitHubPath(problem, user.getName());
+        log.info("github repository path : " + gitHubPath);
 
-        if (sha != null) { // 기존 파일 수정하는 거면 sha 바디에 추가해야됨
-            request.setSha(sha);
+        String commitMessage = pathUtil.makeCommitMessage(problem, user.getName()); // 커밋메세지 만듦
+        String fileName = problem.getNumber() + "." + solution.getLanguage(); // ***이거 프론트에서 언어 어케 주는지에 따라 매핑 해줘야될듯....
+
+        /* 마지막으로 커밋한 내용과 blob sha 가 같은 파일은 제외 */
+        SolutionContent latest = readContent(solution);
+        Map<String, String> files = makeCommitFiles(gitHubPath, fileName, latest.code(), latest.readMe());
+        Map<String, String> changed = new LinkedHashMap<>();
+        files.forEach((path, content) -> {
+            String sha = gitHashUtil.blobSha(content);
+            if (!sha.equals(solution.getCommittedFiles().get(path)))
+                changed.put(path, sha);
+        });
+
+        if (changed.isEmpty()) {
+            log.info("solution " + solutionId + " has no changes to commit");
+            return Map.of();
         }
 
-        HttpEntity<CommitFileRequest> entity = new HttpEntity<>(request, headers);
+        /* github에 바뀐 파일들을 하나의 커밋으로 올림 */
+        Map<String, String> commitFiles = new LinkedHashMap<>();
+        changed.keySet().forEach(path -> commitFiles.put(path, files.get(path)));
+        gitHubClient.commitFiles(user, study.getRepositoryName(), commitMessage, commitFiles);
 
-        RestTemplate restTemplate = new RestTemplate();
+        return changed;
+    }
 
-        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-                "https://api.github.com/repos/" + user.getName() + "/" + repoName + "/contents/" + path + fileName,
-                HttpMethod.PUT,
-                entity,
-                new ParameterizedTypeReference<>() {
-                });
-        log.info("github path : " + path + fileName);
+    /* 커밋에 성공한 파일의 blob sha 기록 */
+    @Transactional
+    public void updateCommittedFiles(Long solutionId, Map<String, String> committedFiles) {
+        if (committedFiles.isEmpty())
+            return;
+        solutionRepository.findById(solutionId).ifPresent(solution -> solution.getCommittedFiles().putAll(committedFiles));
+    }
 
-        return response.getBody();
+    @Transactional
+    public void updateSyncStatus(Long solutionId, SyncStatus syncStatus) {
+        solutionRepository.findById(solutionId).ifPresent(solution -> solution.setSyncStatus(syncStatus));
     }
 
-    private List<User> getMemberList(List<BelongsTo> belongs) {
+    /*
+    private method
+    */
+
+    // code + readMe 의 UTF-8 크기가 제한을 넘으면 저장하지 않는다. (byte 배열을 만들지 않고 계산)
+    private void checkSize(String code, String readMe) {
+        if (utf8Length(code) + utf8Length(readMe) > maxBytes)
+            throw new TooLargeSolutionException();
+    }
+
+    private long utf8Length(String text) {
+        if (text == null)
+            return 0;
+
+        long length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80)
+                length += 1;
+            else if (c < 0x800)
+                length += 2;
+            else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else
+                length += 3;
+        }
+        return length;
+    }
 
-        List<User> members = new ArrayList<>();
+    private void enqueueCommit(Long solutionId) {
+        gitHubJobService.enqueueDebounced(JobType.COMMIT_SOLUTION, solutionId.toString(), Map.of(), commitDebounceMillis, commitMaxDelayMillis);
+    }
+
+    // 커밋할 파일들 (경로 -> 내용), 이후 파일이 추가되면 여기에 넣으면 된다
+    private record SolutionContent(String code, String readMe) {
+    }
 
-        for (BelongsTo belongsTo : belongs)
-            members.add(belongsTo.getMember());
+    // 저장소로 옮기기 전 (V3 이전) 풀이는 key 가 없으므로 code, read_me 컬럼에서 읽는다
+    private SolutionContent readContent(Solution solution) {
+        if (solution.getCode() != null || solution.getReadMe() != null)
+            return new SolutionContent(contentStore.read(solution.getCode()), contentStore.read(solution.getReadMe()));
 
-        return members;
+        return solutionRepository.findContentRowById(solution.getId())
+                .map(row -> row.getCodeKey() == null && row.getReadMeKey() == null
+                        ? new SolutionContent(row.getCode(), row.getReadMe())
+                        : new SolutionContent(readStored(row.getCodeKey(), row.getCodeSize()), readStored(row.getReadMeKey(), row.getReadMeSize())))
+                .orElse(new SolutionContent(null, null));
     }
 
+    private String readStored(String key, Long size) {
+        return key == null ? null : contentStore.read(new StoredContent(key, size, null));
+    }
+
+    private Map<String, String> makeCommitFiles(String path, String fileName, String code, String readMe) {
+        Map<String, String> files = new LinkedHashMap<>();
+        files.put(path + fileName, code);
+        files.put(path + "README.md", readMe);
+        return files;
+    }
 }
\ No newline at end of file
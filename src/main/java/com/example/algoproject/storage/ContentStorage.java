@@ -0,0 +1,18 @@
+package com.example.algoproject.storage;
+
+import java.io.InputStream;
+
+/*
+ * 풀이 code, readMe 같은 본문을 DB 밖에 두는 저장소. (storage.type)
+ * - s3: S3ContentStorage, 운영
+ * - local: LocalContentStorage, 테스트와 서버 한 대로 운영할 때
+ * key 는 내용의 해시로 만들기 때문에 (ContentStore) 같은 key 에 다른 내용이 들어오는 일은 없다.
+ */
+public interface ContentStorage {
+
+    // 같은 key 가 이미 있으면 덮어쓴다. 내용이 같으므로 결과는 변하지 않는다
+    void put(String key, byte[] content);
+
+    // 본문을 stream 으로 읽는다. 다 읽은 뒤 호출한 쪽에서 close 해야 한다
+    InputStream open(String key);
+}
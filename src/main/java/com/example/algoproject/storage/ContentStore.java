@@ -0,0 +1,140 @@
+package com.example.algoproject.storage;
+
+import com.example.algoproject.errors.exception.FailedStorageException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * 본문을 내용의 SHA-256 으로 만든 key 로 ContentStorage 에 저장하고 읽는다.
+ * 같은 내용은 같은 key 가 되어 한 번만 저장되고, 한 번 저장한 key 의 내용은 바뀌지 않는다.
+ * 그래서 최근에 읽은 본문은 만료 없이 메모리에 두고 (storage.cache.max-bytes 까지, LRU) 다시 읽지 않는다.
+ * 여러 풀이가 같은 key 를 가리킬 수 있으므로 풀이를 지워도 본문은 지우지 않는다.
+ */
+@Component
+public class ContentStore {
+
+    private final ContentStorage contentStorage;
+    private final String prefix;
+    private final long maxCacheBytes;
+    private final long maxEntryBytes;
+
+    private final Map<String, CachedContent> cache;
+    private long cacheBytes;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public ContentStore(ContentStorage contentStorage,
+                        @Value("${storage.prefix:solutions/}") String prefix,
+                        @Value("${storage.cache.max-bytes:33554432}") long maxCacheBytes,
+                        @Value("${storage.cache.max-entry-bytes:262144}") long maxEntryBytes,
+                        MeterRegistry meterRegistry) {
+        this.contentStorage = contentStorage;
+        this.prefix = prefix;
+        this.maxCacheBytes = maxCacheBytes;
+        this.maxEntryBytes = maxEntryBytes;
+
+        // access-order LinkedHashMap 으로 가장 오래 사용되지 않은 본문부터 제거 (LRU)
+        this.cache = new LinkedHashMap<>(16, 0.75f, true);
+
+        this.hitCounter = meterRegistry.counter("storage.cache.requests", "result", "hit");
+        this.missCounter = meterRegistry.counter("storage.cache.requests", "result", "miss");
+        Gauge.builder("storage.cache.bytes", this, ContentStore::cacheBytes).register(meterRegistry);
+    }
+
+    // null 은 저장하지 않고 null 을 돌려준다
+    public StoredContent save(String content) {
+        if (content == null)
+            return null;
+
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        String hash = sha256(bytes);
+        String key = prefix + hash.substring(0, 2) + "/" + hash;
+
+        contentStorage.put(key, bytes);
+        cache(key, content, bytes.length);
+
+        return new StoredContent(key, bytes.length, hash);
+    }
+
+    public String read(StoredContent stored) {
+        if (stored == null || stored.getKey() == null)
+            return null;
+
+        CachedContent cached;
+        synchronized (cache) {
+            cached = cache.get(stored.getKey());
+        }
+        if (cached != null) {
+            hitCounter.increment();
+            return cached.content();
+        }
+        missCounter.increment();
+
+        // 크기를 알고 있으므로 stream 에서 그만큼만 읽는다
+        byte[] bytes;
+        try (InputStream in = contentStorage.open(stored.getKey())) {
+            bytes = in.readNBytes((int) stored.getSize());
+        } catch (IOException e) {
+            throw new FailedStorageException(e);
+        }
+        if (bytes.length != stored.getSize())
+            throw new FailedStorageException(new IOException("truncated content: " + stored.getKey()));
+
+        String content = new String(bytes, StandardCharsets.UTF_8);
+        cache(stored.getKey(), content, bytes.length);
+        return content;
+    }
+
+    //
+    // private
+    //
+
+    private void cache(String key, String content, long size) {
+        if (size > maxEntryBytes) // 큰 본문 몇 개가 캐시를 다 차지하지 않도록 한다
+            return;
+
+        synchronized (cache) {
+            if (cache.put(key, new CachedContent(content, size)) == null)
+                cacheBytes += size;
+
+            Iterator<CachedContent> eldest = cache.values().iterator();
+            while (cacheBytes > maxCacheBytes && eldest.hasNext()) {
+                cacheBytes -= eldest.next().size();
+                eldest.remove();
+            }
+        }
+    }
+
+    private long cacheBytes() {
+        synchronized (cache) {
+            return cacheBytes;
+        }
+    }
+
+    private String sha256(byte[] bytes) {
+        try {
+            StringBuilder sb = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(bytes))
+                sb.append(String.format("%02x", b));
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record CachedContent(String content, long size) {
+    }
+}
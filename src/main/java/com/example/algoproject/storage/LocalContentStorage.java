@@ -0,0 +1,57 @@
+package com.example.algoproject.storage;
+
+import com.example.algoproject.errors.exception.FailedStorageException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+// key 를 root 아래의 상대 경로로 써서 파일로 저장한다
+public class LocalContentStorage implements ContentStorage {
+
+    private final Path root;
+
+    public LocalContentStorage(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    // 임시 파일에 다 쓴 뒤 옮기므로, 쓰는 도중에 읽어도 반쯤 쓴 파일이 보이지 않는다
+    @Override
+    public void put(String key, byte[] content) {
+        Path path = resolve(key);
+        try {
+            Files.createDirectories(path.getParent());
+            Path temp = Files.createTempFile(path.getParent(), ".upload-", ".tmp");
+            try {
+                Files.write(temp, content);
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new FailedStorageException(e);
+        }
+    }
+
+    @Override
+    public InputStream open(String key) {
+        try {
+            return Files.newInputStream(resolve(key));
+        } catch (IOException e) {
+            throw new FailedStorageException(e);
+        }
+    }
+
+    //
+    // private
+    //
+
+    private Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root))
+            throw new IllegalArgumentException("invalid storage key: " + key);
+        return path;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.algoproject.storage;
+
+import com.amazonaws.SdkClientException;
+import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.example.algoproject.errors.exception.FailedStorageException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+public class S3ContentStorage implements ContentStorage {
+
+    private final AmazonS3Client amazonS3Client;
+    private final String bucket;
+
+    public S3ContentStorage(AmazonS3Client amazonS3Client, String bucket) {
+        this.amazonS3Client = amazonS3Client;
+        this.bucket = bucket;
+    }
+
+    @Override
+    public void put(String key, byte[] content) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(content.length); // 길이를 알려주지 않으면 sdk 가 stream 을 메모리에 한 번 더 모은다
+        metadata.setContentType("text/plain; charset=utf-8");
+
+        try {
+            amazonS3Client.putObject(bucket, key, new ByteArrayInputStream(content), metadata);
+        } catch (SdkClientException e) {
+            throw new FailedStorageException(e);
+        }
+    }
+
+    // S3 응답 body 를 그대로 넘긴다. 끝까지 읽거나 close 해야 커넥션이 pool 로 돌아간다
+    @Override
+    public InputStream open(String key) {
+        try {
+            return amazonS3Client.getObject(bucket, key).getObjectContent();
+        } catch (SdkClientException e) {
+            throw new FailedStorageException(e);
+        }
+    }
+}
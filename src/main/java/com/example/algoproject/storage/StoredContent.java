@@ -0,0 +1,22 @@
+package com.example.algoproject.storage;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Embeddable;
+
+// 저장소에 둔 본문의 위치와 크기 (UTF-8 bytes), SHA-256. 엔티티에는 본문 대신 이 값만 저장한다
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Embeddable
+public class StoredContent {
+
+    private String key;
+
+    private long size;
+
+    private String hash;
+}
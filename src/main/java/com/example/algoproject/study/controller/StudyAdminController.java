@@ -0,0 +1,29 @@
+package com.example.algoproject.study.controller;
+
+import com.example.algoproject.errors.response.CommonResponse;
+import com.example.algoproject.study.service.StudyAdminService;
+import com.example.algoproject.user.dto.CustomUserDetailsVO;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/study")
+@RestController
+public class StudyAdminController {
+
+    private final StudyAdminService studyAdminService;
+
+    @Operation(summary = "스터디 reconcile 상태", description = "마지막 실행 시간, 진행 위치, 확인/삭제한 스터디 수 반환")
+    @GetMapping("/reconcile")
+    public CommonResponse reconcileStatus(@AuthenticationPrincipal CustomUserDetailsVO cudVO) {
+        return studyAdminService.reconcileStatus(cudVO);
+    }
+
+    @Operation(summary = "스터디 reconcile 실행", description = "github 에서 삭제된 스터디 정리를 바로 실행. code와 message 반환")
+    @PostMapping("/reconcile")
+    public CommonResponse reconcile(@AuthenticationPrincipal CustomUserDetailsVO cudVO) {
+        return studyAdminService.reconcile(cudVO);
+    }
+}
@@ -2,6 +2,7 @@ package com.example.algoproject.study.controller;
 
 import com.example.algoproject.errors.response.*;
 import com.example.algoproject.study.dto.request.AddMember;
+import com.example.algoproject.study.dto.request.AddMembers;
 import com.example.algoproject.study.dto.request.CreateStudy;
 import com.example.algoproject.study.service.StudyService;
 import com.example.algoproject.user.dto.CustomUserDetailsVO;
@@ -31,6 +32,12 @@ public class StudyController {
         return studyService.addMember(cudVO, request);
     }
 
+    @Operation(summary = "멤버 여러 명 추가", description = "멤버 별 초대 결과(INVITED, ALREADY_MEMBER, NOT_EXIST_USER) 리스트 반환")
+    @PostMapping("/member/bulk")
+    public CommonResponse memberAddAll(@AuthenticationPrincipal CustomUserDetailsVO cudVO, @RequestBody @Valid AddMembers request) {
+        return studyService.addMembers(cudVO, request);
+    }
+
     @Operation(summary = "멤버 조회", description = "스터디에 참여중인 멤버 리스트 반환")
     @GetMapping("/member/list/{studyId}")
     public CommonResponse memberList(@AuthenticationPrincipal @PathVariable("studyId") String studyId) {
@@ -1,8 +1,11 @@
 package com.example.algoproject.study.domain;
 
+import com.example.algoproject.job.domain.SyncStatus;
 import com.example.algoproject.session.domain.Session;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.util.ArrayList;
@@ -11,6 +14,8 @@ import java.util.List;
 @Getter
 @NoArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "study")
 public class Study {
 
     @Id
@@ -25,6 +30,10 @@ public class Study {
 
     private String repositoryUrl;
 
+    // 멤버 초대가 github 에 반영되었는지 여부
+    @Enumerated(EnumType.STRING)
+    private SyncStatus syncStatus;
+
     @OneToMany(
             mappedBy = "study",
             cascade = {CascadeType.ALL},
@@ -38,6 +47,16 @@ public class Study {
         this.leaderId = leaderId;
         this.repositoryName = repositoryName;
         this.repositoryUrl = repositoryUrl;
+        this.syncStatus = SyncStatus.SYNCED;
+    }
+
+    public void updateRepository(String repositoryName, String repositoryUrl) {
+        this.repositoryName = repositoryName;
+        this.repositoryUrl = repositoryUrl;
+    }
+
+    public void updateSyncStatus(SyncStatus syncStatus) {
+        this.syncStatus = syncStatus;
     }
 
     public void addSession(Session session) {
@@ -0,0 +1,19 @@
+package com.example.algoproject.study.dto.request;
+
+import lombok.Data;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+public class AddMembers {
+
+    @NotEmpty
+    @Size(max = 100)
+    private List<@NotBlank String> memberNames;
+
+    @NotBlank
+    private String studyId;
+}
@@ -0,0 +1,27 @@
+package com.example.algoproject.study.dto.response;
+
+import lombok.Data;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+@Data
+public class InviteInfo {
+
+    @NotBlank
+    private String memberName;
+
+    @NotNull
+    private Result result;
+
+    public InviteInfo(String memberName, Result result) {
+        this.memberName = memberName;
+        this.result = result;
+    }
+
+    public enum Result {
+        INVITED,         // 초대 작업 등록
+        ALREADY_MEMBER,  // 이미 스터디 멤버
+        NOT_EXIST_USER   // 가입하지 않은 유저
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.algoproject.study.dto.response;
+
+import lombok.Data;
+
+import java.sql.Timestamp;
+
+@Data
+public class ReconcileInfo {
+
+    private boolean running;
+
+    private Timestamp lastStartedAt;
+
+    private Timestamp lastFinishedAt;
+
+    private String cursor; // 다음 실행에서 이어서 확인할 마지막 studyId (null 이면 처음부터)
+
+    private int checked;
+
+    private int deleted;
+
+    private int unknown; // github 상태를 알 수 없어서 그대로 둔 스터디 수
+
+    private boolean budgetExhausted; // 이번 실행의 github 요청 한도를 다 써서 중간에 멈췄는지
+}
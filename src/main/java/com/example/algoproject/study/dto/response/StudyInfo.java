@@ -1,5 +1,6 @@
 package com.example.algoproject.study.dto.response;
 
+import com.example.algoproject.job.domain.SyncStatus;
 import lombok.Data;
 
 import javax.validation.constraints.NotBlank;
@@ -18,9 +19,12 @@ public class StudyInfo {
     @NotNull
     private List<MemberInfo> members;
 
-    public StudyInfo(String name, String url, List<MemberInfo> members) {
+    private SyncStatus syncStatus; // 멤버 초대 github 반영 여부
+
+    public StudyInfo(String name, String url, List<MemberInfo> members, SyncStatus syncStatus) {
         this.name = name;
         this.url = url;
         this.members = members;
+        this.syncStatus = syncStatus;
     }
 }
@@ -0,0 +1,53 @@
+package com.example.algoproject.study.dto.response;
+
+import com.example.algoproject.job.domain.SyncStatus;
+import lombok.Data;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+@Data
+public class StudyListInfo {
+
+    @NotBlank
+    private String studyId;
+
+    @NotBlank
+    private String name;
+
+    @NotBlank
+    private String leaderId;
+
+    private String leaderName;
+
+    private String leaderImageUrl;
+
+    @NotBlank
+    private String repositoryName;
+
+    @NotBlank
+    private String repositoryUrl;
+
+    @NotNull
+    private boolean accepted; // 내가 이 스터디의 초대를 수락했는지
+
+    @NotNull
+    private List<MemberInfo> members;
+
+    private SyncStatus syncStatus; // 멤버 초대 github 반영 여부
+
+    public StudyListInfo(String studyId, String name, String leaderId, String leaderName, String leaderImageUrl,
+                         String repositoryName, String repositoryUrl, boolean accepted, List<MemberInfo> members, SyncStatus syncStatus) {
+        this.studyId = studyId;
+        this.name = name;
+        this.leaderId = leaderId;
+        this.leaderName = leaderName;
+        this.leaderImageUrl = leaderImageUrl;
+        this.repositoryName = repositoryName;
+        this.repositoryUrl = repositoryUrl;
+        this.accepted = accepted;
+        this.members = members;
+        this.syncStatus = syncStatus;
+    }
+}
@@ -1,10 +1,18 @@
 package com.example.algoproject.study.repository;
 
 import com.example.algoproject.study.domain.Study;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface StudyRepository extends JpaRepository<Study, String> {
-    Optional<Study> findByStudyId(String studyId);
+    // studyId 가 PK 이므로 findById 로 조회해서 2차 캐시를 거치게 한다
+    default Optional<Study> findByStudyId(String studyId) {
+        return findById(studyId);
+    }
+
+    // studyId 순서로 이어서 조회 (중간에 삭제가 일어나도 건너뛰는 스터디가 없다)
+    List<Study> findByStudyIdGreaterThanOrderByStudyIdAsc(String studyId, Pageable pageable);
 }
@@ -0,0 +1,46 @@
+package com.example.algoproject.study.service;
+
+import com.example.algoproject.errors.exception.NotAdminUserException;
+import com.example.algoproject.errors.response.CommonResponse;
+import com.example.algoproject.errors.response.ResponseService;
+import com.example.algoproject.user.dto.CustomUserDetailsVO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+
+@RequiredArgsConstructor
+@Service
+public class StudyAdminService {
+
+    private final StudyReconciler studyReconciler;
+    private final ResponseService responseService;
+    private final TaskScheduler taskScheduler;
+
+    @Value("${admin.user-ids:}")
+    private List<String> adminIds;
+
+    public CommonResponse reconcileStatus(CustomUserDetailsVO cudVO) {
+        checkAdmin(cudVO);
+        return responseService.getSingleResponse(studyReconciler.getInfo());
+    }
+
+    // 다음 주기를 기다리지 않고 바로 reconcile 실행 (이미 실행 중이면 무시됨)
+    public CommonResponse reconcile(CustomUserDetailsVO cudVO) {
+        checkAdmin(cudVO);
+        taskScheduler.schedule(studyReconciler::run, Instant.now());
+        return responseService.getSuccessResponse();
+    }
+
+    //
+    // private
+    //
+
+    private void checkAdmin(CustomUserDetailsVO cudVO) {
+        if (!adminIds.contains(cudVO.getUsername()))
+            throw new NotAdminUserException();
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.algoproject.study.service;
+
+import com.example.algoproject.errors.exception.NotExistUserException;
+import com.example.algoproject.github.GitHubClient;
+import com.example.algoproject.github.GitHubRateLimiter;
+import com.example.algoproject.github.RepositoryState;
+import com.example.algoproject.github.RepositoryStatus;
+import com.example.algoproject.study.domain.Study;
+import com.example.algoproject.study.dto.response.ReconcileInfo;
+import com.example.algoproject.study.repository.StudyRepository;
+import com.example.algoproject.user.domain.User;
+import com.example.algoproject.user.service.UserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*
+ * github 에서 repository 가 삭제된 스터디를 주기적으로 찾아 DB 에서 정리한다.
+ * 조회 API 는 github 를 호출하지 않고 DB 상태를 그대로 반환한다.
+ * study.reconcile.graphql 을 켜면 팀장 별로 여러 repository 의 존재 여부와 collaborator 를 GraphQL 요청 하나로 확인하고,
+ * 초대 수락 여부까지 함께 반영한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class StudyReconciler {
+
+    private final StudyRepository studyRepository;
+    private final StudyService studyService;
+    private final UserService userService;
+    private final GitHubClient gitHubClient;
+    private final GitHubRateLimiter rateLimiter;
+    private final ExecutorService gitHubSyncExecutor;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final ReconcileInfo info = new ReconcileInfo();
+
+    // 한 번에 동시에 확인하는 스터디 수
+    @Value("${study.reconcile.concurrency:4}")
+    private int concurrency;
+
+    // 한 번 실행할 때 쓸 수 있는 github 요청 수. 다 쓰면 멈추고 다음 실행에서 이어서 확인한다
+    @Value("${study.reconcile.max-requests-per-run:500}")
+    private int maxRequestsPerRun;
+
+    @Value("${study.reconcile.graphql:false}")
+    private boolean graphQL;
+
+    // GraphQL 을 쓸 때 한 번에 DB 에서 읽어 확인하는 스터디 수
+    @Value("${study.reconcile.graphql-batch-size:100}")
+    private int graphQLBatchSize;
+
+    @Value("${github.graphql.chunk-size:20}")
+    private int graphQLChunkSize;
+
+    @Scheduled(initialDelayString = "${study.reconcile.initial-delay-ms:60000}", fixedDelayString = "${study.reconcile.interval-ms:600000}")
+    public void run() {
+        if (!running.compareAndSet(false, true))
+            return;
+
+        try {
+            synchronized (info) {
+                info.setRunning(true);
+                info.setLastStartedAt(new Timestamp(System.currentTimeMillis()));
+                info.setChecked(0);
+                info.setDeleted(0);
+                info.setUnknown(0);
+                info.setBudgetExhausted(false);
+            }
+            reconcile();
+        } catch (RuntimeException e) {
+            log.info("study reconcile failed: " + e.getMessage());
+        } finally {
+            synchronized (info) {
+                info.setRunning(false);
+                info.setLastFinishedAt(new Timestamp(System.currentTimeMillis()));
+            }
+            running.set(false);
+        }
+    }
+
+    public ReconcileInfo getInfo() {
+        synchronized (info) {
+            ReconcileInfo snapshot = new ReconcileInfo();
+            snapshot.setRunning(info.isRunning());
+            snapshot.setLastStartedAt(info.getLastStartedAt());
+            snapshot.setLastFinishedAt(info.getLastFinishedAt());
+            snapshot.setCursor(info.getCursor());
+            snapshot.setChecked(info.getChecked());
+            snapshot.setDeleted(info.getDeleted());
+            snapshot.setUnknown(info.getUnknown());
+            snapshot.setBudgetExhausted(info.isBudgetExhausted());
+            return snapshot;
+        }
+    }
+
+    //
+    // private
+    //
+
+    private void reconcile() {
+        String cursor = Optional.ofNullable(info.getCursor()).orElse("");
+        int budget = maxRequestsPerRun;
+        Map<String, User> leaders = new HashMap<>();
+
+        while (true) {
+            if (budget <= 0) {
+                synchronized (info) {
+                    info.setBudgetExhausted(true);
+                }
+                log.info("study reconcile budget exhausted, continue from " + cursor + " next run");
+                return;
+            }
+
+            int batchSize = graphQL ? graphQLBatchSize : Math.min(concurrency, budget);
+            List<Study> batch = studyRepository.findByStudyIdGreaterThanOrderByStudyIdAsc(cursor, PageRequest.of(0, batchSize));
+            if (batch.isEmpty())
+                break;
+
+            Map<String, RepositoryState> states = new HashMap<>();
+            budget -= graphQL ? checkByGraphQL(batch, leaders, states) : check(batch, leaders, states);
+
+            // batch 의 결과는 한 transaction 에서 반영
+            studyService.applyRepositoryStates(states);
+
+            for (Study study : batch) {
+                RepositoryStatus status = states.getOrDefault(study.getStudyId(), RepositoryState.of(RepositoryStatus.UNKNOWN)).getStatus();
+
+                synchronized (info) {
+                    info.setChecked(info.getChecked() + 1);
+                    if (status == RepositoryStatus.NOT_EXISTS)
+                        info.setDeleted(info.getDeleted() + 1);
+                    else if (status == RepositoryStatus.UNKNOWN)
+                        info.setUnknown(info.getUnknown() + 1);
+                }
+            }
+
+            cursor = batch.get(batch.size() - 1).getStudyId();
+            synchronized (info) {
+                info.setCursor(cursor);
+            }
+        }
+
+        // 끝까지 확인했으면 다음 실행은 처음부터
+        synchronized (info) {
+            info.setCursor(null);
+        }
+    }
+
+    // 한 batch 의 repository 를 동시에 확인. 상태를 알 수 없는 경우(UNKNOWN) 는 삭제하지 않는다. 보낸 요청 수를 반환
+    private int check(List<Study> batch, Map<String, User> leaders, Map<String, RepositoryState> states) {
+        Map<String, CompletableFuture<RepositoryStatus>> checks = new LinkedHashMap<>();
+
+        for (Study study : batch) {
+            try {
+                User leader = leaders.computeIfAbsent(study.getLeaderId(), userService::findByUserId);
+                checks.put(study.getStudyId(), CompletableFuture.supplyAsync(() -> rateLimiter.supplyInBackground(
+                        () -> gitHubClient.getRepositoryStatus(leader, study.getStudyId())), gitHubSyncExecutor));
+            } catch (RejectedExecutionException | NotExistUserException e) {
+                log.info("skip repository check of study " + study.getStudyId() + ": " + e.getMessage());
+            }
+        }
+
+        checks.forEach((studyId, check) -> {
+            try {
+                states.put(studyId, RepositoryState.of(check.join()));
+            } catch (RuntimeException e) {
+                states.put(studyId, RepositoryState.of(RepositoryStatus.UNKNOWN));
+            }
+        });
+
+        return batch.size();
+    }
+
+    // 팀장 별로 묶어 팀장의 repository 들을 GraphQL 로 한 번에 확인 (팀장 수 만큼 동시에). 보낸 요청 수를 반환
+    private int checkByGraphQL(List<Study> batch, Map<String, User> leaders, Map<String, RepositoryState> states) {
+        Map<String, List<Study>> byLeader = new LinkedHashMap<>();
+        for (Study study : batch)
+            byLeader.computeIfAbsent(study.getLeaderId(), id -> new ArrayList<>()).add(study);
+
+        Map<List<Study>, CompletableFuture<Map<String, RepositoryState>>> checks = new LinkedHashMap<>();
+        byLeader.forEach((leaderId, studies) -> {
+            try {
+                User leader = leaders.computeIfAbsent(leaderId, userService::findByUserId);
+                List<String> repoNames = studies.stream().map(Study::getRepositoryName).toList();
+                checks.put(studies, CompletableFuture.supplyAsync(() -> rateLimiter.supplyInBackground(
+                        () -> gitHubClient.getRepositoryStates(leader, repoNames)), gitHubSyncExecutor));
+            } catch (RejectedExecutionException | NotExistUserException e) {
+                log.info("skip repository check of leader " + leaderId + ": " + e.getMessage());
+            }
+        });
+
+        int requests = 0;
+        for (Map.Entry<List<Study>, CompletableFuture<Map<String, RepositoryState>>> check : checks.entrySet()) {
+            Map<String, RepositoryState> byName;
+            try {
+                byName = check.getValue().join();
+            } catch (RuntimeException e) {
+                byName = Map.of();
+            }
+
+            for (Study study : check.getKey()) {
+                RepositoryState state = byName.getOrDefault(study.getRepositoryName(), RepositoryState.of(RepositoryStatus.UNKNOWN));
+
+                // 이름으로 조회하기 때문에 이름이 바뀌었거나 같은 이름으로 다시 만든 repository 는 id 로 한 번 더 확인한다
+                if (state.getStatus() == RepositoryStatus.NOT_EXISTS
+                        || (state.getStatus() == RepositoryStatus.EXISTS && !study.getStudyId().equals(String.valueOf(state.getRepositoryId())))) {
+                    User leader = leaders.get(study.getLeaderId());
+                    state = RepositoryState.of(rateLimiter.supplyInBackground(() -> gitHubClient.getRepositoryStatus(leader, study.getStudyId())));
+                    requests++;
+                }
+                states.put(study.getStudyId(), state);
+            }
+            requests += (check.getKey().size() + graphQLChunkSize - 1) / graphQLChunkSize;
+        }
+
+        return requests;
+    }
+}
@@ -2,32 +2,38 @@ package com.example.algoproject.study.service;
 
 import com.example.algoproject.belongsto.service.BelongsToService;
 import com.example.algoproject.errors.exception.AlreadyExistMemberException;
-import com.example.algoproject.errors.exception.FailedResponseException;
 import com.example.algoproject.errors.exception.NotExistStudyException;
 import com.example.algoproject.belongsto.domain.BelongsTo;
 import com.example.algoproject.errors.exception.NotLeaderUserException;
 import com.example.algoproject.errors.response.CommonResponse;
 import com.example.algoproject.errors.response.ResponseService;
+import com.example.algoproject.github.GitHubClient;
+import com.example.algoproject.github.RepositoryState;
+import com.example.algoproject.github.RepositoryStatus;
+import com.example.algoproject.github.dto.response.CollaboratorResponse;
+import com.example.algoproject.github.dto.response.RepositoryResponse;
+import com.example.algoproject.job.domain.JobType;
+import com.example.algoproject.job.domain.SyncStatus;
+import com.example.algoproject.job.service.GitHubJobService;
 import com.example.algoproject.study.domain.Study;
 import com.example.algoproject.study.dto.request.*;
+import com.example.algoproject.study.dto.response.InviteInfo;
 import com.example.algoproject.study.dto.response.MemberInfo;
 import com.example.algoproject.study.dto.response.StudyInfo;
+import com.example.algoproject.study.dto.response.StudyListInfo;
 import com.example.algoproject.study.repository.StudyRepository;
 import com.example.algoproject.user.domain.User;
 import com.example.algoproject.user.dto.CustomUserDetailsVO;
 import com.example.algoproject.user.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.Objects;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -38,6 +44,20 @@ public class StudyService {
     private final UserService userService;
     private final BelongsToService belongsToService;
     private final ResponseService responseService;
+    private final GitHubClient gitHubClient;
+    private final GitHubJobService gitHubJobService;
+
+    private final Map<String, Long> memberPolledAt = new ConcurrentHashMap<>();
+    private volatile long memberPolledAtPrunedAt;
+
+    @Value("${github.webhook.url:}")
+    private String webhookUrl;
+
+    @Value("${github.webhook.secret:}")
+    private String webhookSecret;
+
+    @Value("${github.webhook.poll-fallback-ms:600000}")
+    private long memberPollFallbackMillis;
 
     @Transactional
     public CommonResponse create(CustomUserDetailsVO cudVO, CreateStudy request) {
@@ -50,16 +70,20 @@ public class StudyService {
         log.info("leader name: " + leader.getName());
 
         // 팀장의 github 이름으로 repoName 이 이름인 레포지토리 생성
-        Map<String, Object> response = createRepositoryResponse(leader, request.getRepoName());
+        RepositoryResponse response = gitHubClient.createRepository(leader, request.getRepoName());
 
-        Study study = new Study(response.get("id").toString(), request.getStudyName(), cudVO.getUsername(), response.get("name").toString(), response.get("html_url").toString());
+        Study study = new Study(response.getId().toString(), request.getStudyName(), cudVO.getUsername(), response.getName(), response.getHtml_url());
 
         studyRepository.save(study);
 
         // 스터디 생성시 팀장을 스터디 멤버에 추가
         belongsToService.save(new BelongsTo(leader, study, true));
 
-        return responseService.getSingleResponse(response.get("id").toString());
+        // 초대 수락, repository 삭제/이름 변경을 webhook 으로 받기 위해 등록
+        if (!webhookUrl.isEmpty())
+            gitHubJobService.enqueue(JobType.CREATE_WEBHOOK, study.getStudyId(), Map.of());
+
+        return responseService.getSingleResponse(response.getId().toString());
     }
 
     @Transactional
@@ -74,21 +98,69 @@ public class StudyService {
         Study study = studyRepository.findByStudyId(request.getStudyId()).orElseThrow(NotExistStudyException::new);
         log.info("study name: " + study.getName());
 
-        // 이미 존재 중인 멤버 인지 확인 하는 것 추가
-        List<BelongsTo> members = belongsToService.findByStudy(study);
-        for (BelongsTo belongsTo : members)
-            if (belongsTo.getMember().getId().equals(member.getId()))
-                throw new AlreadyExistMemberException();
+        // 이미 존재 중인 멤버 인지 확인
+        if (belongsToService.isMember(study.getStudyId(), member.getId()))
+            throw new AlreadyExistMemberException();
 
-        // leader 가 github 에서 member 에게 study 레포지토리로 contributor 초대를 보냄
-        addContributorResponse(leader, member, study);
+        // Study 와 Member 간의 관계 저장. 동시에 같은 멤버를 추가하면 (study_id, user_id) unique 에 걸린다
+        try {
+            belongsToService.save(new BelongsTo(member, study, false));
+        } catch (DataIntegrityViolationException e) {
+            throw new AlreadyExistMemberException();
+        }
 
-        // Study 와 Member 간의 관계 저장
-        belongsToService.save(new BelongsTo(member, study, false));
+        // leader 가 github 에서 member 에게 study 레포지토리로 contributor 초대를 보내는 작업을 큐에 등록
+        study.updateSyncStatus(SyncStatus.PENDING);
+        gitHubJobService.enqueue(JobType.ADD_COLLABORATOR, study.getStudyId(), Map.of("memberId", member.getId()));
 
         return responseService.getSuccessResponse();
     }
 
+    /*
+     여러 멤버를 한 번에 추가. 유저는 한 번의 조회로 찾고, 이미 멤버인지는 요청한 유저들에 대해서만 한 번에 확인한다
+     github 초대는 작업 큐에 등록되어 worker 들이 정해진 개수만큼 동시에 보낸다
+     */
+    @Transactional
+    public CommonResponse addMembers(CustomUserDetailsVO cudVO, AddMembers request) {
+
+        Study study = studyRepository.findByStudyId(request.getStudyId()).orElseThrow(NotExistStudyException::new);
+
+        // 스터디의 리더만 여러 멤버를 한 번에 초대할 수 있음
+        if (!cudVO.getUsername().equals(study.getLeaderId()))
+            throw new NotLeaderUserException();
+
+        Map<String, User> users = new HashMap<>();
+        for (User user : userService.findByNames(new LinkedHashSet<>(request.getMemberNames())))
+            users.put(user.getName(), user);
+
+        Set<String> memberIds = belongsToService.findMemberIds(study.getStudyId(), users.values().stream().map(User::getId).toList());
+
+        List<BelongsTo> added = new ArrayList<>();
+        List<InviteInfo> results = new ArrayList<>();
+        for (String memberName : request.getMemberNames()) {
+            User member = users.get(memberName);
+
+            if (member == null)
+                results.add(new InviteInfo(memberName, InviteInfo.Result.NOT_EXIST_USER));
+            else if (!memberIds.add(member.getId())) // 요청 안에서 중복된 이름도 여기서 걸러진다
+                results.add(new InviteInfo(memberName, InviteInfo.Result.ALREADY_MEMBER));
+            else {
+                added.add(new BelongsTo(member, study, false));
+                results.add(new InviteInfo(memberName, InviteInfo.Result.INVITED));
+            }
+        }
+
+        if (!added.isEmpty()) {
+            belongsToService.saveAll(added);
+
+            study.updateSyncStatus(SyncStatus.PENDING);
+            for (BelongsTo belongsTo : added)
+                gitHubJobService.enqueue(JobType.ADD_COLLABORATOR, study.getStudyId(), Map.of("memberId", belongsTo.getMember().getId()));
+        }
+
+        return responseService.getListResponse(results);
+    }
+
     @Transactional
     public CommonResponse getMembers(String studyId) {
 
@@ -100,9 +172,10 @@ public class StudyService {
 
         // 스터디에 있는 사람들 중 아직 초대 받지 않은 사람이 있으면 github 에서 다시 갱신해옴
         // 만약 다 초대를 받았다면 github 에서 갱신해오지 않는다
+        // webhook 을 쓰는 경우 초대 수락은 webhook 으로 반영되므로 가끔씩만 직접 확인한다
         List<BelongsTo> belongs = belongsToService.findByStudy(study);
 
-        if (!isAllAccepted(belongs))
+        if (!isAllAccepted(belongs) && needsMemberPolling(studyId))
             updateMemberList(owner, study, belongs);
 
         return responseService.getListResponse(getMemberList(belongs));
@@ -111,38 +184,31 @@ public class StudyService {
     @Transactional
     public CommonResponse detail(String studyId) {
 
+        // github 에서 삭제된 스터디는 StudyReconciler 가 주기적으로 정리하므로 DB 상태를 그대로 반환
         Study study = getStudy(studyId);
-        User leader = userService.findByUserId(study.getLeaderId());
-
-        if (synchronizeRepository(leader, study))
-            return responseService.getErrorResponse(HttpStatus.BAD_REQUEST.value(), "존재하지 않는 스터디 입니다.");
 
         List<BelongsTo> belongs = belongsToService.findByStudy(study);
 
         List<MemberInfo> members = getMemberList(belongs);
 
-        return responseService.getSingleResponse(new StudyInfo(study.getName(), study.getRepositoryUrl(), members));
+        return responseService.getSingleResponse(new StudyInfo(study.getName(), study.getRepositoryUrl(), members, study.getSyncStatus()));
     }
 
-    @Transactional
+    /*
+     * 스터디 수와 상관없이 쿼리 두 번으로 만든다.
+     * 내가 속한 스터디 (BelongsTo + Study) 를 한 번, 그 스터디들의 팀원 (BelongsTo + User) 을 IN 으로 한 번 조회한다.
+     * 팀장도 BelongsTo 가 있으므로 팀장 정보는 팀원 목록에서 찾는다.
+     */
+    @Transactional(readOnly = true)
     public CommonResponse list(CustomUserDetailsVO cudVO) {
 
-        User user = userService.findByUserId(cudVO.getUsername());
-        List<BelongsTo> belongs = belongsToService.findByMember(user);
-        List<String> list = new ArrayList<>();
-
-        for (Study study : getStudyList(belongs))
-            list.add(study.getStudyId());
+        List<BelongsTo> mine = belongsToService.findByMemberId(cudVO.getUsername());
 
-        for (String studyId : list) {
-            Study study = getStudy(studyId);
-            User leader = userService.findByUserId(study.getLeaderId());
+        Map<String, List<BelongsTo>> membersByStudy = new HashMap<>();
+        for (BelongsTo belongsTo : belongsToService.findByStudyIds(mine.stream().map(b -> b.getStudy().getStudyId()).toList()))
+            membersByStudy.computeIfAbsent(belongsTo.getStudy().getStudyId(), id -> new ArrayList<>()).add(belongsTo);
 
-            // Github에 Repository가 존재하지 않으면 Database에서 삭제후 존재하지 않는 스터디 리스트에서 제외
-            synchronizeRepository(leader, study);
-        }
-
-        return responseService.getListResponse(getStudyList(belongsToService.findByMember(user)));
+        return responseService.getListResponse(getStudyList(mine, membersByStudy));
     }
 
     @Transactional
@@ -151,21 +217,18 @@ public class StudyService {
         Study study = getStudy(studyId);
         User leader = userService.findByUserId(study.getLeaderId());
 
-        // Github에 Repository가 존재하지 않으면 Database에서 삭제후 존재하지 않는 스터디 예외
-        if (synchronizeRepository(leader, study))
-            return responseService.getErrorResponse(HttpStatus.BAD_REQUEST.value(), "존재하지 않는 스터디 입니다.");
-
         // 스터디의 리더만 스터디를 삭제할 수 있음
         if (!cudVO.getUsername().equals(study.getLeaderId()))
             throw new NotLeaderUserException();
 
-        // Github에 있는 레포지토리 삭제
-        deleteRepositoryResponse(leader, study);
-
         // 먼저 Study에 연관된 BelongsTo들을 삭제 후 스터디 삭제
         belongsToService.deleteByStudy(study);
         studyRepository.delete(study);
 
+        // Github에 있는 레포지토리 삭제는 작업 큐에 등록
+        gitHubJobService.enqueue(JobType.DELETE_REPOSITORY, study.getStudyId(),
+                Map.of("leaderId", leader.getId(), "repositoryName", study.getRepositoryName()));
+
         return responseService.getSuccessResponse();
     }
 
@@ -184,154 +247,115 @@ public class StudyService {
         return studyRepository.findByStudyId(studyId).orElseThrow(NotExistStudyException::new);
     }
 
-    //
-    // private methods
-    //
-
-    private Map<String, Object> createRepositoryResponse(User owner, String repoName) {
-
-        HttpHeaders headers = makeHeader(owner);
-
-        CreateRepository request = new CreateRepository();
-        request.setName(repoName);
-        request.setAuto_init(true);
-
-        HttpEntity<CreateRepository> entity = new HttpEntity<>(request, headers);
-
-        RestTemplate restTemplate = new RestTemplate();
-
-        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-                "https://api.github.com/user/repos",
-                HttpMethod.POST,
-                entity,
-                new ParameterizedTypeReference<>() {
-                });
-
-        // request 가 정상적으로 수행되지 않았을 때
-        if(!response.getStatusCode().is2xxSuccessful())
-            throw new FailedResponseException("github api에서 repository 생성을 실패했습니다.");
-
-        return response.getBody();
+    // github 에서 repository 가 삭제된 스터디 정리 (StudyReconciler 에서 호출)
+    @Transactional
+    public void deleteStudy(String studyId) {
+        studyRepository.findByStudyId(studyId).ifPresent(study -> {
+            // 먼저 Study에 연관된 BelongsTo들을 삭제 후 스터디 삭제
+            belongsToService.deleteByStudy(study);
+            studyRepository.delete(study);
+            log.info("study " + studyId + " deleted, repository does not exist on github");
+        });
     }
 
-    private void deleteRepositoryResponse(User owner, Study study) {
-
-        HttpHeaders headers = makeHeader(owner);
-
-        HttpEntity<String> entity = new HttpEntity<>(headers);
-
-        RestTemplate restTemplate = new RestTemplate();
-
-        ResponseEntity<List<Map<String, Object>>> response = restTemplate.exchange(
-                "https://api.github.com/repos/" + owner.getName() + "/" + study.getRepositoryName(),
-                HttpMethod.DELETE,
-                entity,
-                new ParameterizedTypeReference<>() {
-                });
-
-        // request 가 정상적으로 수행되지 않았을 때
-        if (!response.getStatusCode().is2xxSuccessful())
-            throw new FailedResponseException("github api에서 repository 삭제를 실패했습니다.");
-
-        log.info("repository " + study.getRepositoryName() + " deleted on github");
+    // StudyReconciler 가 조회한 repository 상태를 한 transaction 에서 반영 (삭제된 스터디 정리, 초대 수락)
+    @Transactional
+    public void applyRepositoryStates(Map<String, RepositoryState> states) {
+        states.forEach((studyId, state) -> {
+            if (state.getStatus() == RepositoryStatus.NOT_EXISTS)
+                deleteStudy(studyId);
+            else if (state.getStatus() == RepositoryStatus.EXISTS && state.getCollaborators() != null)
+                studyRepository.findByStudyId(studyId).ifPresent(study ->
+                        acceptCollaborators(state.getCollaborators(), belongsToService.findByStudy(study)));
+        });
     }
 
-    private void addContributorResponse(User owner, User member, Study study) {
-
-        HttpHeaders headers = makeHeader(owner);
-
-        AddContributor request = new AddContributor();
-        request.setPermission("admin");
-
-        HttpEntity<AddContributor> entity = new HttpEntity<>(request, headers);
-
-        RestTemplate restTemplate = new RestTemplate();
-
-        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-                "https://api.github.com/repos/" + owner.getName() + "/" + study.getRepositoryName() + "/collaborators/" + member.getName(),
-                HttpMethod.PUT,
-                entity,
-                new ParameterizedTypeReference<>() {
-                });
-
-        // request 가 정상적으로 수행되지 않았을 때
-        if(!response.getStatusCode().is2xxSuccessful())
-            throw new FailedResponseException("github api에서 contributor 초대를 실패했습니다.");
+    // github 에서 repository 이름이 바뀐 경우 (webhook)
+    @Transactional
+    public void renameRepository(String studyId, String repositoryName, String repositoryUrl) {
+        studyRepository.findByStudyId(studyId).ifPresent(study -> study.updateRepository(repositoryName, repositoryUrl));
     }
 
-    private List<Map<String, Object>> getContributorsResponse(User owner, Study study) {
-
-        HttpHeaders headers = makeHeader(owner);
-
-        HttpEntity<String> entity = new HttpEntity<>(headers);
-
-        RestTemplate restTemplate = new RestTemplate();
+    // github 작업 worker 에서 호출
+    public void createWebhook(String studyId) {
+        Optional<Study> study = studyRepository.findByStudyId(studyId);
+        if (study.isEmpty())
+            return;
 
-        ResponseEntity<List<Map<String, Object>>> response = restTemplate.exchange(
-                "https://api.github.com/repos/" + owner.getName() + "/" + study.getRepositoryName() + "/collaborators",
-                HttpMethod.GET,
-                entity,
-                new ParameterizedTypeReference<>() {
-                });
-
-        // request 가 정상적으로 수행되지 않았을 때
-        if (!response.getStatusCode().is2xxSuccessful())
-            throw new FailedResponseException("github api에서 contributor 조회에 실패했습니다.");
+        User leader = userService.findByUserId(study.get().getLeaderId());
+        gitHubClient.createWebhook(leader, study.get().getRepositoryName(), webhookUrl, webhookSecret);
+    }
 
-        return response.getBody();
+    // github 작업 worker 에서 호출
+    public void deleteRepository(String leaderId, String repositoryName) {
+        gitHubClient.deleteRepository(userService.findByUserId(leaderId), repositoryName);
+        log.info("repository " + repositoryName + " deleted on github");
     }
 
-    private boolean synchronizeRepository(User owner, Study study) {
+    // github 작업 worker 에서 호출
+    public void inviteMember(String studyId, String memberId) {
 
-        HttpHeaders headers = makeHeader(owner);
+        Optional<Study> study = studyRepository.findByStudyId(studyId);
+        if (study.isEmpty()) { // 초대 전에 삭제된 스터디
+            log.info("study " + studyId + " deleted before invitation");
+            return;
+        }
 
-        HttpEntity<String> entity = new HttpEntity<>(headers);
+        User leader = userService.findByUserId(study.get().getLeaderId());
+        User member = userService.findByUserId(memberId);
 
-        RestTemplate restTemplate = new RestTemplate();
+        gitHubClient.addCollaborator(leader, study.get().getRepositoryName(), member.getName());
+    }
 
-        ResponseEntity<List<Map<String, Object>>> response = restTemplate.exchange(
-                "https://api.github.com/users/" + owner.getName() + "/repos",
-                HttpMethod.GET,
-                entity,
-                new ParameterizedTypeReference<>() {
-                });
+    @Transactional
+    public void updateSyncStatus(String studyId, SyncStatus syncStatus) {
+        studyRepository.findByStudyId(studyId).ifPresent(study -> study.updateSyncStatus(syncStatus));
+    }
 
-        if (!response.getStatusCode().is2xxSuccessful())
-            throw new FailedResponseException("github api에서 repository 조회에 실패했습니다.");
+    //
+    // private methods
+    //
 
-        for (Map<String, Object> map : Objects.requireNonNull(response.getBody()))
-            if (map.get("id").toString().equals(study.getStudyId()))
+    private boolean isAllAccepted(List<BelongsTo> belongs) {
+        for (BelongsTo belongsTo : belongs)
+            if(!belongsTo.isAccepted())
                 return false;
+        return true;
+    }
 
-        // 먼저 Study에 연관된 BelongsTo들을 삭제 후 스터디 삭제
-        belongsToService.deleteByStudy(study);
-        studyRepository.delete(study);
+    // webhook 을 등록하지 않으면 (create 와 같은 조건) 매번, 등록하면 poll-fallback 주기마다 한 번만 github 에서 확인
+    private boolean needsMemberPolling(String studyId) {
+        if (webhookUrl.isEmpty())
+            return true;
 
+        long now = System.currentTimeMillis();
+        Long polledAt = memberPolledAt.get(studyId);
+        if (polledAt != null && now - polledAt < memberPollFallbackMillis)
+            return false;
+
+        memberPolledAt.put(studyId, now);
+        pruneMemberPolledAt(now);
         return true;
     }
 
-    private HttpHeaders makeHeader(User owner) {
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("User-Agent", "api-test");
-        headers.add("Authorization", "token " + owner.getAccessToken());
-        headers.add("Accept", "application/vnd.github.v3+json");
-        return headers;
-    }
+    // 주기가 지난 기록은 없는 것과 같으므로 주기마다 한 번 지워서 조회한 적 있는 모든 스터디가 남지 않게 한다
+    private void pruneMemberPolledAt(long now) {
+        if (now - memberPolledAtPrunedAt < memberPollFallbackMillis)
+            return;
 
-    private boolean isAllAccepted(List<BelongsTo> belongs) {
-        for (BelongsTo belongsTo : belongs)
-            if(belongsTo.isAccepted())
-                return false;
-        return true;
+        memberPolledAtPrunedAt = now;
+        memberPolledAt.values().removeIf(polledAt -> now - polledAt >= memberPollFallbackMillis);
     }
 
     private void updateMemberList(User owner, Study study, List<BelongsTo> belongs) {
-        List<Map<String, Object>> responses = getContributorsResponse(owner, study);
+        acceptCollaborators(gitHubClient.getCollaborators(owner, study.getRepositoryName()), belongs);
+    }
 
-        for (Map<String, Object> response : responses)
+    private void acceptCollaborators(List<CollaboratorResponse> responses, List<BelongsTo> belongs) {
+        for (CollaboratorResponse response : responses)
             for (BelongsTo belongsTo : belongs)
                 // github api 를 이용해 조회한 contributor 가 새로 추가된 경우(초대를 받은 경우) 상태를 업데이트 해준다
-                if(response.get("id") == belongsTo.getMember().getId() && !belongsTo.isAccepted()){
+                if(response.getId().toString().equals(belongsTo.getMember().getId()) && !belongsTo.isAccepted()){
                     belongsTo.acceptInvitation();
                     belongsToService.save(belongsTo);
                 }
@@ -348,12 +372,19 @@ public class StudyService {
         return members;
     }
 
-    private List<Study> getStudyList(List<BelongsTo> belongs) {
+    private List<StudyListInfo> getStudyList(List<BelongsTo> mine, Map<String, List<BelongsTo>> membersByStudy) {
 
-        List<Study> studyList = new ArrayList<>();
+        List<StudyListInfo> studyList = new ArrayList<>();
 
-        for (BelongsTo belongsTo : belongs)
-            studyList.add(belongsTo.getStudy());
+        for (BelongsTo belongsTo : mine) {
+            Study study = belongsTo.getStudy();
+            List<BelongsTo> belongs = membersByStudy.getOrDefault(study.getStudyId(), List.of());
+            Optional<User> leader = belongs.stream().map(BelongsTo::getMember).filter(member -> member.getId().equals(study.getLeaderId())).findFirst();
+
+            studyList.add(new StudyListInfo(study.getStudyId(), study.getName(), study.getLeaderId(),
+                    leader.map(User::getName).orElse(null), leader.map(User::getImageUrl).orElse(null),
+                    study.getRepositoryName(), study.getRepositoryUrl(), belongsTo.isAccepted(), getMemberList(belongs), study.getSyncStatus()));
+        }
 
         return studyList;
     }
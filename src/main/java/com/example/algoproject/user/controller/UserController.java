@@ -1,11 +1,14 @@
 package com.example.algoproject.user.controller;
 
 import com.example.algoproject.errors.response.CommonResponse;
+import com.example.algoproject.user.dto.RefreshRequest;
 import com.example.algoproject.user.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
+import javax.validation.Valid;
+
 @RequiredArgsConstructor
 @RequestMapping("/api/user")
 @RestController
@@ -18,4 +21,16 @@ public class UserController {
     public CommonResponse login(@RequestParam String code){
         return userService.login(code);
     }
+
+    @Operation(summary="토큰 재발급", description="refresh token 으로 새 jwt token 과 refresh token 반환")
+    @PostMapping("/refresh")
+    public CommonResponse refresh(@RequestBody @Valid RefreshRequest request){
+        return userService.refresh(request);
+    }
+
+    @Operation(summary="로그아웃", description="refresh token 폐기")
+    @PostMapping("/logout")
+    public CommonResponse logout(@RequestBody @Valid RefreshRequest request){
+        return userService.logout(request);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.example.algoproject.user.domain;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+
+/*
+ * 로그인 유지를 위한 refresh token. 원문은 저장하지 않고 SHA-256 hash 만 저장한다.
+ * 사용할 때마다 새 token 으로 바뀌고(rotation), 같은 로그인에서 이어진 token 들은 같은 familyId 를 가진다.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(indexes = @Index(name = "idx_refresh_token_family", columnList = "familyId"))
+public class RefreshToken {
+
+    @Id
+    @Column(name = "refresh_token_id")
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(unique = true, nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(nullable = false)
+    private String userId;
+
+    @Column(nullable = false, length = 36)
+    private String familyId;
+
+    private Timestamp expiresAt;
+
+    private boolean revoked;
+
+    @Column(updatable = false)
+    @CreationTimestamp
+    private Timestamp createdTime;
+
+    public RefreshToken(String tokenHash, String userId, String familyId, Timestamp expiresAt) {
+        this.tokenHash = tokenHash;
+        this.userId = userId;
+        this.familyId = familyId;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isExpired() {
+        return expiresAt.before(new Timestamp(System.currentTimeMillis()));
+    }
+}
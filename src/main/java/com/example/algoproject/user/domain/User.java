@@ -2,19 +2,29 @@ package com.example.algoproject.user.domain;
 
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
 
 @Getter
 @NoArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
+@Table(indexes = @Index(name = "idx_user_name", columnList = "name"))
 public class User {
     @Id
     @Column(name = "user_id")
     private String id;
 
+    // github login. github 에서 이름을 바꾸면 다음 로그인 때 update 로 바뀐다
+    // 바꾸기 전 이름을 다른 유저가 가져가면 잠시 두 유저가 같은 이름을 가질 수 있어서 unique 가 아니다
     private String name;
 
     private String accessToken;
@@ -33,6 +43,11 @@ public class User {
         this.name = name;
         this.imageUrl = imageUrl;
     }
+
+    // 다른 유저가 이 이름으로 로그인했을 때. 이 유저가 다시 로그인하면 바뀐 이름으로 채워진다
+    public void releaseName() {
+        this.name = null;
+    }
 }
 
 
@@ -13,8 +13,13 @@ public class LoginDto {
     @NotBlank
     private String name;
 
-    public LoginDto(String token, String name) {
+    // token 이 만료되면 /api/user/refresh 로 github 를 거치지 않고 새 token 을 받는다
+    @NotBlank
+    private String refreshToken;
+
+    public LoginDto(String token, String name, String refreshToken) {
         this.token = token;
         this.name = name;
+        this.refreshToken = refreshToken;
     }
 }
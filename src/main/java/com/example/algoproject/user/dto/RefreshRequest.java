@@ -0,0 +1,12 @@
+package com.example.algoproject.user.dto;
+
+import lombok.Data;
+
+import javax.validation.constraints.NotBlank;
+
+@Data
+public class RefreshRequest {
+
+    @NotBlank
+    private String refreshToken;
+}
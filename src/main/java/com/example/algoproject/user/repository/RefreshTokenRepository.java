@@ -0,0 +1,23 @@
+package com.example.algoproject.user.repository;
+
+import com.example.algoproject.user.domain.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    // 아직 폐기되지 않은 경우에만 폐기. 같은 token 으로 동시에 rotate 하면 한 쪽만 1 을 받는다
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update RefreshToken t set t.revoked = true where t.id = :id and t.revoked = false")
+    int revokeIfActive(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update RefreshToken t set t.revoked = true where t.familyId = :familyId")
+    int revokeFamily(@Param("familyId") String familyId);
+}
@@ -3,9 +3,12 @@ package com.example.algoproject.user.repository;
 import com.example.algoproject.user.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
 
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findById(String userId);
-    Optional<User> findByName(String name);
+// findById 는 2차 캐시를 거친다
+public interface UserRepository extends JpaRepository<User, String> {
+    List<User> findByName(String name);
+
+    List<User> findByNameIn(Collection<String> names);
 }
@@ -0,0 +1,100 @@
+package com.example.algoproject.user.service;
+
+import com.example.algoproject.errors.exception.NotValidRefreshTokenException;
+import com.example.algoproject.user.domain.RefreshToken;
+import com.example.algoproject.user.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.UUID;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final SecureRandom random = new SecureRandom();
+
+    @Value("${jwt.refresh-token-days:14}")
+    private long refreshTokenDays;
+
+    // 로그인 시 새 family 로 발급
+    @Transactional
+    public String issue(String userId) {
+        return issue(userId, UUID.randomUUID().toString());
+    }
+
+    /*
+     refresh token 을 새 token 으로 바꾸고, token 주인의 userId 를 반환 (rotation)
+     이미 사용(폐기)된 token 이 다시 오면 탈취된 것으로 보고 같은 family 의 token 을 모두 폐기한다
+     */
+    @Transactional(noRollbackFor = NotValidRefreshTokenException.class)
+    public Rotated rotate(String rawToken) {
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(rawToken)).orElseThrow(NotValidRefreshTokenException::new);
+
+        if (token.isRevoked())
+            throw reused(token);
+
+        if (token.isExpired())
+            throw new NotValidRefreshTokenException();
+
+        // 조회와 폐기 사이에 다른 요청이 같은 token 으로 먼저 rotate 했으면 재사용으로 본다
+        if (refreshTokenRepository.revokeIfActive(token.getId()) != 1)
+            throw reused(token);
+
+        return new Rotated(token.getUserId(), issue(token.getUserId(), token.getFamilyId()));
+    }
+
+    // 로그아웃. 같은 로그인에서 이어진 token 을 모두 폐기
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+    }
+
+    //
+    // private
+    //
+
+    private NotValidRefreshTokenException reused(RefreshToken token) {
+        log.info("revoked refresh token reused, revoke family " + token.getFamilyId());
+        refreshTokenRepository.revokeFamily(token.getFamilyId());
+        return new NotValidRefreshTokenException();
+    }
+
+    private String issue(String userId, String familyId) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Timestamp expiresAt = new Timestamp(System.currentTimeMillis() + Duration.ofDays(refreshTokenDays).toMillis());
+        refreshTokenRepository.save(new RefreshToken(hash(rawToken), userId, familyId, expiresAt));
+        return rawToken;
+    }
+
+    private String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder();
+            for (byte b : digest)
+                sb.append(String.format("%02x", b));
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record Rotated(String userId, String refreshToken) {
+    }
+}
@@ -4,22 +4,23 @@ import com.example.algoproject.errors.exception.FailedResponseException;
 import com.example.algoproject.errors.exception.NotExistUserException;
 import com.example.algoproject.errors.response.CommonResponse;
 import com.example.algoproject.errors.response.ResponseService;
+import com.example.algoproject.github.GitHubClient;
+import com.example.algoproject.github.GitHubRequestCoalescer;
+import com.example.algoproject.github.dto.response.UserResponse;
 import com.example.algoproject.user.domain.User;
 import com.example.algoproject.user.dto.LoginDto;
+import com.example.algoproject.user.dto.RefreshRequest;
 import com.example.algoproject.user.dto.TokenDto;
 import com.example.algoproject.user.repository.UserRepository;
 import com.example.algoproject.security.JWTUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Slf4j
@@ -30,6 +31,9 @@ public class UserService {
     private final UserRepository userRepository;
     private final ResponseService responseService;
     private final JWTUtil jwtUtil;
+    private final GitHubClient gitHubClient;
+    private final GitHubRequestCoalescer coalescer;
+    private final RefreshTokenService refreshTokenService;
 
     @Value("${client.id}")
     private String clientId;
@@ -40,26 +44,49 @@ public class UserService {
     @Transactional
     public CommonResponse login(String code) {
 
-        // {code} 를 이용해 Github 에 access_token 요청
-        String token = accessTokenResponse(code);
+        // {code} 를 이용해 Github 에 access_token 을 요청하고, 받은 access_token 으로 사용자 정보 요청
+        // 같은 code 로 동시에(또는 연달아) 들어온 로그인은 github 호출 결과를 나눠 쓴다 (code 는 한 번만 쓸 수 있음)
+        GitHubLogin gitHubLogin = coalescer.execute("oauth " + code, () -> {
+            String accessToken = accessTokenResponse(code);
+            return new GitHubLogin(accessToken, gitHubClient.getUser(accessToken));
+        });
+        String token = gitHubLogin.accessToken();
+        UserResponse userInfoResponse = gitHubLogin.user();
 
-        // 받은 access_token 으로 Github 에 사용자 정보 요청
-        Map<String, Object> userInfoResponse = userInfoResponse(token);
-
-        Optional<User> user = userRepository.findById(userInfoResponse.get("id").toString());
+        Optional<User> user = userRepository.findById(userInfoResponse.getId().toString());
+        releaseName(userInfoResponse.getId().toString(), userInfoResponse.getLogin());
 
         if (user.isEmpty()) {
             // 새로운 유저를 데이터베이스에 추가
-            log.info("Add new user to database... " + userInfoResponse.get("login"));
-            userRepository.save(new User(userInfoResponse.get("id").toString(), userInfoResponse.get("login").toString(), token, userInfoResponse.get("avatar_url").toString()));
+            log.info("Add new user to database... " + userInfoResponse.getLogin());
+            userRepository.save(new User(userInfoResponse.getId().toString(), userInfoResponse.getLogin(), token, userInfoResponse.getAvatar_url()));
         }
         else {
             log.info(user.get().getName() + " User already exists. Renew User Name & Access Token...");
             // 유저의 이름과 프로필 사진이 변경되었을 수도 있기 때문에 accessToken 과 같이 갱신해 준다
-            user.get().update(token, userInfoResponse.get("login").toString(), userInfoResponse.get("avatar_url").toString());
+            user.get().update(token, userInfoResponse.getLogin(), userInfoResponse.getAvatar_url());
             userRepository.save(user.get());
         }
-        return responseService.getSingleResponse(new LoginDto(jwtUtil.makeJWT(userInfoResponse.get("id").toString()), userInfoResponse.get("login").toString()));
+        String userId = userInfoResponse.getId().toString();
+        return responseService.getSingleResponse(new LoginDto(jwtUtil.makeJWT(userId), userInfoResponse.getLogin(), refreshTokenService.issue(userId)));
+    }
+
+    // github 를 거치지 않고 refresh token 으로 새 JWT 발급. refresh token 도 새로 바뀐다
+    // 재사용된 token 의 family 폐기가 롤백되지 않도록 rotate 는 자기 transaction 에서 끝낸다
+    public CommonResponse refresh(RefreshRequest request) {
+
+        RefreshTokenService.Rotated rotated = refreshTokenService.rotate(request.getRefreshToken());
+        User user = findByUserId(rotated.userId());
+
+        return responseService.getSingleResponse(new LoginDto(jwtUtil.makeJWT(user.getId()), user.getName(), rotated.refreshToken()));
+    }
+
+    @Transactional
+    public CommonResponse logout(RefreshRequest request) {
+
+        refreshTokenService.revoke(request.getRefreshToken());
+
+        return responseService.getSuccessResponse();
     }
 
     @Transactional
@@ -69,60 +96,39 @@ public class UserService {
 
     @Transactional
     public User findByName(String name) {
-        return userRepository.findByName(name).orElseThrow(NotExistUserException::new);
+        return userRepository.findByName(name).stream().findFirst().orElseThrow(NotExistUserException::new);
+    }
+
+    // 가입하지 않은 이름은 결과에서 빠진다
+    @Transactional
+    public List<User> findByNames(Collection<String> names) {
+        return userRepository.findByNameIn(names);
     }
 
     //
     // private
     //
 
-    private String accessTokenResponse(String code) {
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("Accept", "application/json");
-        headers.add("User-Agent", "api-test");
+    private record GitHubLogin(String accessToken, UserResponse user) {
+    }
 
-        Map<String, String> params = new LinkedHashMap<>();
-        params.put("client_id", clientId);
-        params.put("client_secret", clientSecret);
-        params.put("code", code);
+    // github 에서 이름을 바꾼 유저가 다시 로그인하기 전에 다른 유저가 그 이름을 가져간 경우, 이전 유저의 이름을 비워서 이름 조회가 한 명만 찾도록 한다
+    private void releaseName(String userId, String login) {
+        for (User other : userRepository.findByName(login))
+            if (!other.getId().equals(userId)) {
+                log.info(other.getId() + " no longer owns name " + login);
+                other.releaseName();
+            }
+    }
 
-        HttpEntity<Map<String, String>> entity = new HttpEntity<>(params, headers);
-        RestTemplate restTemplate = new RestTemplate();
+    private String accessTokenResponse(String code) {
 
-        ResponseEntity<TokenDto> response = restTemplate.exchange(
-                "https://github.com/login/oauth/access_token",
-                HttpMethod.POST,
-                entity,
-                TokenDto.class
-        );
+        TokenDto response = gitHubClient.getAccessToken(clientId, clientSecret, code);
 
         // code가 유효하지 않을 때
-        if(response.getBody().getAccess_token() == null)
+        if(response == null || response.getAccess_token() == null)
             throw new FailedResponseException("code가 유효하지 않거나 파기되었습니다");
 
-        return response.getBody().getAccess_token();
-    }
-
-    private Map<String, Object> userInfoResponse(String token) {
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("User-Agent", "api-test");
-        headers.add("Authorization", "token " + token);
-        headers.add("Accept", "application/vnd.github.v3+json");
-
-        HttpEntity<String> entity = new HttpEntity<>(headers);
-        RestTemplate restTemplate = new RestTemplate();
-
-        try {
-            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-                    "https://api.github.com/user",
-                    HttpMethod.GET,
-                    entity,
-                    new ParameterizedTypeReference<>(){});
-            return response.getBody();
-        } catch (RuntimeException ex) { // accessToken 이 유효하지 않을 때는 code에서 제대로 왔다면 거의 발생하지 않음
-            throw new FailedResponseException("유효하지 않은 Access Token 입니다");
-        }
+        return response.getAccess_token();
     }
 }
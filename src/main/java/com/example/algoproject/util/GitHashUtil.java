@@ -0,0 +1,30 @@
+package com.example.algoproject.util;
+
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+@Component
+public class GitHashUtil {
+
+    // git 이 파일 내용에 붙이는 blob SHA-1 ("blob " + 길이 + "\0" + 내용). github tree 의 sha 와 같은 값
+    public String blobSha(String content) {
+        byte[] bytes = (content == null ? "" : content).getBytes(StandardCharsets.UTF_8);
+        byte[] header = ("blob " + bytes.length + "\0").getBytes(StandardCharsets.UTF_8);
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            digest.update(header);
+            digest.update(bytes);
+
+            StringBuilder sb = new StringBuilder();
+            for (byte b : digest.digest())
+                sb.append(String.format("%02x", b));
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
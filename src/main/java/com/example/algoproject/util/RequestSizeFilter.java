@@ -0,0 +1,49 @@
+package com.example.algoproject.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * Content-Length 가 제한을 넘는 요청은 multipart 를 파싱하기 전에 거절한다. (body 를 메모리에 올리지 않음)
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RequestSizeFilter extends OncePerRequestFilter {
+
+    private final long maxBytes;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        long length = request.getContentLengthLong();
+        if (length <= maxBytes) { // 길이를 모르는 요청(-1) 은 서비스에서 내용 크기로 확인
+            chain.doFilter(request, response);
+            return;
+        }
+
+        log.info("request " + request.getRequestURI() + " rejected, " + length + " bytes");
+
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("code", HttpStatus.PAYLOAD_TOO_LARGE.value());
+        errorDetails.put("message", "요청 크기가 너무 큽니다. (최대 " + maxBytes + " bytes)");
+
+        response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Connection", "close");
+
+        objectMapper.writeValue(response.getWriter(), errorDetails);
+    }
+}
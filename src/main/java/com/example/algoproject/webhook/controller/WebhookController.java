@@ -0,0 +1,24 @@
+package com.example.algoproject.webhook.controller;
+
+import com.example.algoproject.errors.response.CommonResponse;
+import com.example.algoproject.webhook.service.WebhookService;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RequiredArgsConstructor
+@RequestMapping("/api/github")
+@RestController
+public class WebhookController {
+
+    private final WebhookService webhookService;
+
+    @Operation(summary = "github webhook", description = "member, membership, repository 이벤트를 받아 스터디와 멤버 상태를 갱신")
+    @PostMapping("/webhook")
+    public CommonResponse webhook(@RequestHeader("X-GitHub-Event") String event,
+                                  @RequestHeader("X-GitHub-Delivery") String deliveryId,
+                                  @RequestHeader(value = "X-Hub-Signature-256", required = false) String signature,
+                                  @RequestBody byte[] body) {
+        return webhookService.receive(event, deliveryId, signature, body);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.algoproject.webhook.domain;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.sql.Timestamp;
+
+// 같은 delivery 가 다시 와도 한 번만 처리하기 위해 처리한 X-GitHub-Delivery 를 기록
+@Getter
+@NoArgsConstructor
+@Entity
+public class WebhookDelivery {
+
+    @Id
+    @Column(name = "delivery_id")
+    private String deliveryId;
+
+    private String event;
+
+    @Column(updatable = false)
+    @CreationTimestamp
+    private Timestamp receivedTime;
+
+    public WebhookDelivery(String deliveryId, String event) {
+        this.deliveryId = deliveryId;
+        this.event = event;
+    }
+}
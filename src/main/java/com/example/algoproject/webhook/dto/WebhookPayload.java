@@ -0,0 +1,18 @@
+package com.example.algoproject.webhook.dto;
+
+import com.example.algoproject.github.dto.response.CollaboratorResponse;
+import com.example.algoproject.github.dto.response.RepositoryResponse;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class WebhookPayload {
+
+    private String action;
+
+    private RepositoryResponse repository;
+
+    // member 이벤트의 대상 유저
+    private CollaboratorResponse member;
+}
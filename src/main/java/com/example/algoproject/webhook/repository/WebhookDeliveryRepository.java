@@ -0,0 +1,7 @@
+package com.example.algoproject.webhook.repository;
+
+import com.example.algoproject.webhook.domain.WebhookDelivery;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface WebhookDeliveryRepository extends JpaRepository<WebhookDelivery, String> {
+}
@@ -0,0 +1,131 @@
+package com.example.algoproject.webhook.service;
+
+import com.example.algoproject.belongsto.service.BelongsToService;
+import com.example.algoproject.errors.exception.NotValidWebhookException;
+import com.example.algoproject.errors.response.CommonResponse;
+import com.example.algoproject.errors.response.ResponseService;
+import com.example.algoproject.study.service.StudyService;
+import com.example.algoproject.webhook.domain.WebhookDelivery;
+import com.example.algoproject.webhook.dto.WebhookPayload;
+import com.example.algoproject.webhook.repository.WebhookDeliveryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class WebhookService {
+
+    private static final String SIGNATURE_PREFIX = "sha256=";
+
+    private final WebhookDeliveryRepository webhookDeliveryRepository;
+    private final StudyService studyService;
+    private final BelongsToService belongsToService;
+    private final ResponseService responseService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${github.webhook.secret:}")
+    private String secret;
+
+    @Transactional
+    public CommonResponse receive(String event, String deliveryId, String signature, byte[] body) {
+
+        verifySignature(signature, body);
+
+        // 이미 처리한 delivery 는 다시 처리하지 않는다 (github 재전송)
+        if (webhookDeliveryRepository.existsById(deliveryId)) {
+            log.info("webhook delivery " + deliveryId + " already processed");
+            return responseService.getSuccessResponse();
+        }
+        webhookDeliveryRepository.save(new WebhookDelivery(deliveryId, event));
+
+        WebhookPayload payload = readPayload(body);
+        log.info("webhook " + event + "." + payload.getAction() + " delivery " + deliveryId);
+
+        switch (event) {
+            case "member" -> handleMember(payload);
+            case "repository" -> handleRepository(payload);
+            // 스터디 repository 는 개인 계정 소유라 organization team membership 은 멤버 상태에 영향이 없다
+            case "membership", "ping" -> { }
+            default -> log.info("unsupported webhook event " + event);
+        }
+
+        return responseService.getSuccessResponse();
+    }
+
+    //
+    // private
+    //
+
+    // repository collaborator 로 추가(초대 수락) 되거나 제거된 경우
+    private void handleMember(WebhookPayload payload) {
+        if (payload.getRepository() == null || payload.getMember() == null)
+            return;
+
+        String studyId = payload.getRepository().getId().toString();
+        String memberId = payload.getMember().getId().toString();
+
+        switch (payload.getAction()) {
+            case "added" -> belongsToService.acceptInvitation(studyId, memberId);
+            case "removed" -> belongsToService.deleteMember(studyId, memberId);
+            default -> { }
+        }
+    }
+
+    private void handleRepository(WebhookPayload payload) {
+        if (payload.getRepository() == null)
+            return;
+
+        String studyId = payload.getRepository().getId().toString();
+
+        switch (payload.getAction()) {
+            case "deleted" -> studyService.deleteStudy(studyId);
+            case "renamed" -> studyService.renameRepository(studyId, payload.getRepository().getName(), payload.getRepository().getHtml_url());
+            default -> { }
+        }
+    }
+
+    // X-Hub-Signature-256 = "sha256=" + HMAC-SHA256(secret, body)
+    private void verifySignature(String signature, byte[] body) {
+        if (secret.isEmpty() || signature == null || !signature.startsWith(SIGNATURE_PREFIX))
+            throw new NotValidWebhookException();
+
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            String expected = SIGNATURE_PREFIX + toHex(mac.doFinal(body));
+
+            // 일정한 시간에 비교
+            if (!MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), signature.getBytes(StandardCharsets.UTF_8)))
+                throw new NotValidWebhookException();
+        } catch (GeneralSecurityException e) {
+            throw new NotValidWebhookException();
+        }
+    }
+
+    private String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : bytes)
+            sb.append(String.format("%02x", b));
+        return sb.toString();
+    }
+
+    private WebhookPayload readPayload(byte[] body) {
+        try {
+            return objectMapper.readValue(body, WebhookPayload.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("webhook payload 를 읽을 수 없습니다.", e);
+        }
+    }
+}
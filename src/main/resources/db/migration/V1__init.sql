@@ -0,0 +1,126 @@
+-- hibernate DDL 로 만들어 쓰던 스키마. 이미 테이블이 있는 DB 는 이 버전을 baseline 으로 잡고 V2 부터 적용한다
+
+create table user (
+    user_id varchar(255) not null,
+    access_token varchar(255),
+    image_url varchar(255),
+    name varchar(255),
+    primary key (user_id)
+) engine=InnoDB;
+
+create table study (
+    study_id varchar(255) not null,
+    leader_id varchar(255),
+    name varchar(255),
+    repository_name varchar(255),
+    repository_url varchar(255),
+    sync_status varchar(255),
+    primary key (study_id)
+) engine=InnoDB;
+
+create table belongs_to (
+    id bigint not null auto_increment,
+    accepted bit not null,
+    user_id varchar(255),
+    study_id varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table hibernate_sequence (
+    next_val bigint
+) engine=InnoDB;
+
+insert into hibernate_sequence values (1);
+
+create table session (
+    session_id bigint not null,
+    end datetime(6),
+    name varchar(255),
+    start datetime(6),
+    study_id varchar(255),
+    primary key (session_id)
+) engine=InnoDB;
+
+create table problem (
+    problem_id bigint not null,
+    name varchar(255),
+    number varchar(255),
+    platform integer,
+    url varchar(255),
+    session_id bigint,
+    primary key (problem_id)
+) engine=InnoDB;
+
+create table solution (
+    solution_id bigint not null auto_increment,
+    code longtext,
+    date datetime(6),
+    language integer,
+    read_me longtext,
+    sync_status varchar(255),
+    problem_id bigint,
+    user_id varchar(255),
+    primary key (solution_id)
+) engine=InnoDB;
+
+create table solution_file (
+    solution_id bigint not null,
+    blob_sha varchar(255),
+    path varchar(255) not null,
+    primary key (solution_id, path)
+) engine=InnoDB;
+
+create table review (
+    id bigint not null,
+    content varchar(255),
+    created_time datetime(6),
+    updated_time datetime(6),
+    writer_id varchar(255),
+    solution_id bigint,
+    primary key (id)
+) engine=InnoDB;
+
+create table git_hub_job (
+    job_id bigint not null auto_increment,
+    attempts integer not null,
+    created_time datetime(6),
+    last_error varchar(1000),
+    locked_until datetime(6),
+    next_run_at datetime(6),
+    payload varchar(2000),
+    status varchar(255),
+    target_id varchar(255),
+    type varchar(255),
+    updated_time datetime(6),
+    primary key (job_id)
+) engine=InnoDB;
+
+create table webhook_delivery (
+    delivery_id varchar(255) not null,
+    event varchar(255),
+    received_time datetime(6),
+    primary key (delivery_id)
+) engine=InnoDB;
+
+create table refresh_token (
+    refresh_token_id bigint not null auto_increment,
+    created_time datetime(6),
+    expires_at datetime(6),
+    family_id varchar(36) not null,
+    revoked bit not null,
+    token_hash varchar(64) not null,
+    user_id varchar(255) not null,
+    primary key (refresh_token_id)
+) engine=InnoDB;
+
+create index idx_refresh_token_family on refresh_token (family_id);
+alter table refresh_token add constraint UK_kdj16cltjxdksuyiosdhliveg unique (token_hash);
+
+alter table belongs_to add constraint FKfk7jyqclcq7ntmagtuhabx8mh foreign key (user_id) references user (user_id);
+alter table belongs_to add constraint FK6h7c0mi3x0w9ntqlq4bno712n foreign key (study_id) references study (study_id);
+alter table session add constraint FK298u4o2devji6x6rjv74e1ckb foreign key (study_id) references study (study_id);
+alter table problem add constraint FKmkvvwaqixunueoa3oxbb3epio foreign key (session_id) references session (session_id);
+alter table solution add constraint FKrbtm4ry2my317kdkkixgjrts3 foreign key (problem_id) references problem (problem_id);
+alter table solution add constraint FK4ns37km03pks0kii4ek4ndt7i foreign key (user_id) references user (user_id);
+alter table solution_file add constraint FKjwc26ehne0g7xa82n0iemsncb foreign key (solution_id) references solution (solution_id);
+alter table review add constraint FKo5s5cctebkt6oulhw1bm32ad2 foreign key (solution_id) references solution (solution_id);
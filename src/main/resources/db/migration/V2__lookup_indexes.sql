@@ -0,0 +1,13 @@
+-- 자주 쓰는 조회를 index 로 찾도록 한다. belongs_to, solution 의 unique 는 기존 데이터에 중복이 있으면 먼저 정리해야 적용된다
+
+-- 스터디의 멤버 목록, 이미 멤버인지 확인 (study_id 로 시작하므로 study_id 만으로 찾는 조회에도 쓰인다)
+alter table belongs_to add constraint uk_belongs_to_study_user unique (study_id, user_id);
+
+-- 내가 속한 스터디 목록
+create index idx_belongs_to_user on belongs_to (user_id);
+
+-- 문제 별 풀이 목록, 이미 풀이를 등록했는지 확인. 한 유저는 한 문제에 풀이 하나만 가진다
+alter table solution add constraint uk_solution_problem_user unique (problem_id, user_id);
+
+-- 멤버 초대 시 github 이름으로 유저 조회. github 이름은 바뀔 수 있어서 잠시 두 유저가 같은 이름을 가질 수 있으므로 unique 가 아닌 index 로 둔다
+create index idx_user_name on user (name);
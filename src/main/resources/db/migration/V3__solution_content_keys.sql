@@ -0,0 +1,8 @@
+-- 풀이 code, readMe 본문은 저장소 (S3) 에 두고 row 에는 key, 크기, 해시만 남긴다
+-- 기존 code, read_me 는 SolutionContentBackfill 이 저장소로 옮긴 뒤 비운다. 다 옮겨지면 이후 migration 에서 삭제
+alter table solution add column code_key varchar(255);
+alter table solution add column code_size bigint;
+alter table solution add column code_hash varchar(64);
+alter table solution add column read_me_key varchar(255);
+alter table solution add column read_me_size bigint;
+alter table solution add column read_me_hash varchar(64);
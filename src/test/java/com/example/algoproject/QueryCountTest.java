@@ -0,0 +1,264 @@
+package com.example.algoproject;
+
+import com.example.algoproject.belongsto.domain.BelongsTo;
+import com.example.algoproject.belongsto.service.BelongsToService;
+import com.example.algoproject.errors.response.ListResponse;
+import com.example.algoproject.errors.response.ResponseService;
+import com.example.algoproject.github.GitHubClient;
+import com.example.algoproject.job.service.GitHubJobService;
+import com.example.algoproject.problem.domain.Problem;
+import com.example.algoproject.problem.dto.request.AddProblem;
+import com.example.algoproject.problem.service.ProblemService;
+import com.example.algoproject.review.domain.Review;
+import com.example.algoproject.session.domain.Session;
+import com.example.algoproject.session.dto.request.CreateSession;
+import com.example.algoproject.session.service.SessionService;
+import com.example.algoproject.solution.domain.Solution;
+import com.example.algoproject.solution.service.SolutionService;
+import com.example.algoproject.storage.ContentStore;
+import com.example.algoproject.storage.StoredContent;
+import com.example.algoproject.study.domain.Study;
+import com.example.algoproject.study.dto.response.MemberInfo;
+import com.example.algoproject.study.dto.response.StudyListInfo;
+import com.example.algoproject.study.service.StudyService;
+import com.example.algoproject.user.domain.User;
+import com.example.algoproject.user.dto.CustomUserDetailsVO;
+import com.example.algoproject.user.service.UserService;
+import com.example.algoproject.util.GitHashUtil;
+import com.example.algoproject.util.PathUtil;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import javax.persistence.EntityManagerFactory;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+/*
+ * 조회 API 별로 실행되는 SQL 수를 고정해 둔다.
+ * 연관 엔티티를 하나씩 가져오는 코드 (N+1) 가 들어오면 데이터가 여러 건일 때 쿼리 수가 늘어나서 실패한다.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query;MODE=MySQL;NON_KEYWORDS=USER,START,END,VALUE",
+        "spring.jpa.database-platform=org.hibernate.dialect.MySQL8Dialect", // migration 의 hibernate_sequence 테이블을 쓰도록 운영과 같은 dialect
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({SolutionService.class, ProblemService.class, SessionService.class, StudyService.class, BelongsToService.class,
+        ResponseService.class, PathUtil.class, GitHashUtil.class})
+class QueryCountTest {
+
+    @Autowired
+    private SolutionService solutionService;
+
+    @Autowired
+    private ProblemService problemService;
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private StudyService studyService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private GitHubClient gitHubClient;
+
+    @MockBean
+    private GitHubJobService gitHubJobService;
+
+    @MockBean
+    private ContentStore contentStore;
+
+    private Statistics statistics;
+
+    private User leader;
+
+    private Study study;
+
+    private Session session;
+
+    private Problem problem;
+
+    private Solution solution;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        leader = persist(new User("1", "leader", "token", "leader.png"));
+        study = persist(new Study("study", "study", leader.getId(), "study", "https://github.com/leader/study"));
+        persist(new BelongsTo(leader, study, true));
+
+        session = persist(session(study, "1주차"));
+        persist(session(study, "2주차"));
+
+        // 팀원 네 명이 문제 세 개를 모두 풀고 서로 리뷰를 남긴 상태
+        for (int i = 2; i <= 4; i++)
+            persist(new BelongsTo(persist(new User(String.valueOf(i), "member" + i, "token", "member" + i + ".png")), study, true));
+
+        for (int p = 1; p <= 3; p++) {
+            Problem created = persist(problem(session, String.valueOf(1000 + p)));
+            for (int i = 1; i <= 4; i++) {
+                Solution solved = persist(new Solution(entityManager.find(User.class, String.valueOf(i)), created,
+                        new StoredContent("solutions/code" + p + i, 4, "hash"), null, new Timestamp(System.currentTimeMillis()), "java"));
+                for (int r = 1; r <= 4; r++) {
+                    Review review = new Review(String.valueOf(r), "review");
+                    review.setSolution(solved);
+                    persist(review);
+                }
+                if (problem == null)
+                    solution = solved;
+            }
+            if (problem == null)
+                problem = created;
+        }
+
+        given(userService.findByUserId(leader.getId())).willReturn(leader);
+    }
+
+    @Test
+    void solutionDetail() {
+        // 풀이, 리뷰
+        assertQueries(2, () -> solutionService.detail(user(), solution.getId()));
+    }
+
+    @Test
+    void solutionList() {
+        assertQueries(1, () -> solutionService.list(user(), problem.getId()));
+    }
+
+    @Test
+    void problemDetail() {
+        // 문제, 풀이 요약
+        assertQueries(2, () -> problemService.detail(problem.getId()));
+    }
+
+    @Test
+    void problemList() {
+        // 세션, 문제 목록, 풀이 요약 (IN)
+        assertQueries(3, () -> problemService.list(session.getId()));
+    }
+
+    @Test
+    void sessionList() {
+        // 스터디, 세션 목록
+        assertQueries(2, () -> sessionService.list(study.getStudyId()));
+    }
+
+    @Test
+    void studyDetail() {
+        // 스터디, 팀원 (BelongsTo + User)
+        assertQueries(2, () -> studyService.detail(study.getStudyId()));
+    }
+
+    @Test
+    void studyMembers() {
+        // 스터디, 팀원 (BelongsTo + User). 팀장은 UserService 에서 가져온다
+        assertQueries(2, () -> studyService.getMembers(study.getStudyId()));
+    }
+
+    @Test
+    void studyList() {
+        // 내 스터디 (BelongsTo + Study), 팀원 (BelongsTo + User). 스터디가 늘어도 그대로
+        assertQueries(2, () -> studyService.list(user()));
+
+        User other = entityManager.find(User.class, "2");
+        for (int i = 2; i <= 10; i++)
+            createStudy("study" + i, i % 2 == 0 ? leader : other, leader, other);
+        assertQueries(2, () -> studyService.list(user()));
+    }
+
+    @Test
+    void studyListFillsLeaderAndMembers() {
+        User other = entityManager.find(User.class, "2");
+        createStudy("invited", other, leader); // 초대만 받고 수락하지 않은 스터디
+
+        List<StudyListInfo> studies = listStudies();
+
+        assertThat(studies).extracting(StudyListInfo::getLeaderName).containsExactlyInAnyOrder("leader", "member2");
+        StudyListInfo invited = studies.stream().filter(info -> info.getLeaderName().equals("member2")).findFirst().orElseThrow();
+        assertThat(invited.isAccepted()).isFalse();
+        assertThat(invited.getMembers()).extracting(MemberInfo::getName).containsExactly("member2", "leader");
+    }
+
+    //
+    // private
+    //
+
+    private void assertQueries(long expected, Runnable request) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        request.run();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(expected);
+    }
+
+    private CustomUserDetailsVO user() {
+        return CustomUserDetailsVO.toVO(leader);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<StudyListInfo> listStudies() {
+        entityManager.flush();
+        entityManager.clear();
+        return ((ListResponse<StudyListInfo>) studyService.list(user())).getData();
+    }
+
+    // 팀장은 수락한 상태, 나머지는 초대만 받은 상태
+    private void createStudy(String studyId, User leader, User... members) {
+        Study created = persist(new Study(studyId, studyId, leader.getId(), studyId, "https://github.com/" + leader.getName() + "/" + studyId));
+        persist(new BelongsTo(leader, created, true));
+        for (User member : members)
+            if (member != leader)
+                persist(new BelongsTo(member, created, false));
+    }
+
+    private Session session(Study study, String name) {
+        CreateSession request = new CreateSession();
+        request.setStudyId(study.getStudyId());
+        request.setName(name);
+        request.setStart(new Date());
+        request.setEnd(new Date());
+
+        Session created = new Session(request);
+        created.setStudy(study);
+        return created;
+    }
+
+    private Problem problem(Session session, String number) {
+        AddProblem request = new AddProblem();
+        request.setSessionId(session.getId());
+        request.setNumber(number);
+        request.setName("문제 " + number);
+        request.setPlatform("Baekjoon");
+
+        Problem created = new Problem(request);
+        created.setSession(session);
+        return created;
+    }
+
+    private <T> T persist(T entity) {
+        return entityManager.persist(entity);
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.algoproject.github;
+
+import com.example.algoproject.config.GitHubConfig;
+import com.example.algoproject.errors.exception.ExceededRateLimitException;
+import com.example.algoproject.errors.exception.FailedResponseException;
+import com.example.algoproject.errors.exception.GitHubUnavailableException;
+import com.example.algoproject.github.GitHubSimulator.SimRepository;
+import com.example.algoproject.github.GitHubSimulator.SimUser;
+import com.example.algoproject.github.dto.response.CollaboratorResponse;
+import com.example.algoproject.github.dto.response.RepositoryResponse;
+import com.example.algoproject.user.domain.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+ * GitHubClient 를 github 시뮬레이터에 붙여서 github 를 호출하는 경로를 확인한다
+ */
+@SpringBootTest(classes = {GitHubConfig.class, GitHubClient.class, GitHubResponseCache.class, GitHubRateLimiter.class,
+        GitHubCircuitBreaker.class, GitHubBulkhead.class, GitHubRequestCoalescer.class, GitHubMetrics.class, GitHubClientTest.TestConfig.class},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD) // circuit breaker, rate limit 상태를 테스트마다 새로 시작
+class GitHubClientTest {
+
+    private static GitHubSimulator simulator;
+
+    @Autowired
+    private GitHubClient gitHubClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void gitHubProperties(DynamicPropertyRegistry registry) throws IOException {
+        if (simulator == null)
+            simulator = new GitHubSimulator();
+
+        registry.add("github.api-url", simulator::baseUrl);
+        registry.add("github.oauth-url", () -> simulator.baseUrl() + "/login/oauth/access_token");
+        registry.add("github.timeout.read-ms", () -> 500);
+        registry.add("github.timeout.write-ms", () -> 500);
+        registry.add("github.rate-limit.interactive-max-wait-ms", () -> 200);
+        registry.add("github.circuit-breaker.window-size", () -> 4);
+        registry.add("github.circuit-breaker.minimum-calls", () -> 4);
+        registry.add("github.coalesce.ttl-ms", () -> 0); // 동시에 진행 중인 요청만 합친다
+    }
+
+    @AfterEach
+    void resetSimulator() {
+        simulator.reset();
+    }
+
+    @AfterAll
+    static void stopSimulator() {
+        simulator.stop();
+    }
+
+    @Test
+    void commitsFilesAsSingleCommit() {
+        User user = user(simulator.addUser("committer"));
+        gitHubClient.createRepository(user, "study");
+
+        Map<String, String> files = new LinkedHashMap<>();
+        files.put("BOJ/[1000]A+B/committer/1000.JAVA", "class Main {}");
+        files.put("BOJ/[1000]A+B/committer/README.md", "# A+B");
+        gitHubClient.commitFiles(user, "study", "BOJ [1000]A+B By committer", files);
+
+        SimRepository repository = simulator.repository("committer", "study");
+        assertThat(repository.files).containsAllEntriesOf(files);
+        assertThat(repository.commitMessages).containsExactly("BOJ [1000]A+B By committer");
+        assertThat(simulator.count("POST", "/repos/committer/study/git/trees")).isEqualTo(1);
+        assertThat(simulator.count("PATCH", "/repos/committer/study/git/refs")).isEqualTo(1);
+    }
+
+    @Test
+    void retriesCommitWhenReferenceUpdateConflicts() {
+        User user = user(simulator.addUser("racer"));
+        gitHubClient.createRepository(user, "study");
+
+        simulator.failNext("PATCH", 422, 1);
+        gitHubClient.commitFiles(user, "study", "retry", Map.of("a.txt", "a"));
+
+        assertThat(simulator.repository("racer", "study").files).containsEntry("a.txt", "a");
+        assertThat(simulator.count("PATCH", "/repos/racer/study/git/refs")).isEqualTo(2);
+    }
+
+    @Test
+    void recordsRequestMetrics() {
+        User user = user(simulator.addUser("measured"));
+        gitHubClient.createRepository(user, "study");
+
+        simulator.failNext("PATCH", 422, 1);
+        gitHubClient.commitFiles(user, "study", "retry", Map.of("a.txt", "a"));
+
+        assertThat(timerCount("create-repo", "2xx", "0")).isEqualTo(1);
+        assertThat(timerCount("update-ref", "4xx", "0")).isEqualTo(1);
+        assertThat(timerCount("update-ref", "2xx", "1")).isEqualTo(1);
+        assertThat(timerCount("create-tree", "2xx", "1")).isEqualTo(1);
+    }
+
+    @Test
+    void reportsRepositoryStatus() {
+        User user = user(simulator.addUser("checker"));
+        RepositoryResponse repository = gitHubClient.createRepository(user, "study");
+
+        assertThat(gitHubClient.getRepositoryStatus(user, repository.getId().toString())).isEqualTo(RepositoryStatus.EXISTS);
+        assertThat(gitHubClient.getRepositoryStatus(user, "999999")).isEqualTo(RepositoryStatus.NOT_EXISTS);
+
+        simulator.failNext("GET", 502, 1);
+        assertThat(gitHubClient.getRepositoryStatus(user, repository.getId().toString())).isEqualTo(RepositoryStatus.UNKNOWN);
+    }
+
+    @Test
+    void stopsSendingAfterRateLimitExhausted() {
+        User user = user(simulator.addUser("heavy"));
+        gitHubClient.createRepository(user, "study");
+
+        simulator.exhaustRateLimit(System.currentTimeMillis() / 1000 + 3600);
+        assertThatThrownBy(() -> gitHubClient.getCollaborators(user, "study")).isInstanceOf(FailedResponseException.class);
+
+        simulator.clearRequests();
+        assertThatThrownBy(() -> gitHubClient.getCollaborators(user, "study")).isInstanceOf(ExceededRateLimitException.class);
+        assertThat(simulator.requests()).isEmpty();
+    }
+
+    @Test
+    void timesOutSlowResponses() {
+        User user = user(simulator.addUser("patient"));
+        gitHubClient.createRepository(user, "study");
+
+        simulator.delay(1500);
+        long startedAt = System.currentTimeMillis();
+        assertThatThrownBy(() -> gitHubClient.getCollaborators(user, "study")).isInstanceOf(FailedResponseException.class);
+        assertThat(System.currentTimeMillis() - startedAt).isLessThan(1500);
+    }
+
+    @Test
+    void opensCircuitOnServerErrors() {
+        User user = user(simulator.addUser("unlucky"));
+
+        simulator.failNext(null, 500, 4);
+        for (int i = 0; i < 4; i++)
+            assertThatThrownBy(() -> gitHubClient.getCollaborators(user, "study")).isNotInstanceOf(GitHubUnavailableException.class);
+
+        simulator.clearRequests();
+        assertThatThrownBy(() -> gitHubClient.getCollaborators(user, "study")).isInstanceOf(GitHubUnavailableException.class);
+        assertThat(simulator.requests()).isEmpty();
+    }
+
+    // 429 는 그 토큰의 rate limit 이므로 다른 유저의 호출은 막지 않는다
+    @Test
+    void rateLimitedResponsesDoNotOpenCircuit() {
+        simulator.failNext(null, 429, 4);
+        for (int i = 0; i < 4; i++) {
+            User user = user(simulator.addUser("throttled" + i));
+            assertThatThrownBy(() -> gitHubClient.getCollaborators(user, "study")).isInstanceOf(FailedResponseException.class);
+        }
+
+        User other = user(simulator.addUser("bystander"));
+        gitHubClient.createRepository(other, "study");
+        assertThat(gitHubClient.getCollaborators(other, "study")).extracting(CollaboratorResponse::getLogin).containsExactly("bystander");
+    }
+
+    @Test
+    void coalescesConcurrentIdenticalRequests() throws Exception {
+        User user = user(simulator.addUser("popular"));
+        gitHubClient.createRepository(user, "study");
+        simulator.clearRequests();
+
+        simulator.delay(300);
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            List<Future<List<CollaboratorResponse>>> results = new ArrayList<>();
+            for (int i = 0; i < 5; i++)
+                results.add(executor.submit(() -> gitHubClient.getCollaborators(user, "study")));
+            for (Future<List<CollaboratorResponse>> result : results)
+                assertThat(result.get()).extracting(CollaboratorResponse::getLogin).containsExactly("popular");
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(simulator.count("GET", "/repos/popular/study/collaborators")).isEqualTo(1);
+    }
+
+    @Test
+    void reusesCachedBodyWhenNotModified() {
+        User user = user(simulator.addUser("frequent"));
+        gitHubClient.createRepository(user, "study");
+
+        assertThat(gitHubClient.getCollaborators(user, "study")).extracting(CollaboratorResponse::getLogin).containsExactly("frequent");
+        assertThat(gitHubClient.getCollaborators(user, "study")).extracting(CollaboratorResponse::getLogin).containsExactly("frequent");
+
+        assertThat(simulator.count("GET", "/repos/frequent/study/collaborators")).isEqualTo(2);
+        assertThat(timerCount("collaborators", "2xx", "0")).isEqualTo(1);
+        assertThat(timerCount("collaborators", "3xx", "0")).isEqualTo(1);
+        assertThat(meterRegistry.get("github.cache.not-modified").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void queriesRepositoryStatesInOneRequest() {
+        User user = user(simulator.addUser("leader"));
+        RepositoryResponse first = gitHubClient.createRepository(user, "first");
+        gitHubClient.createRepository(user, "second");
+        simulator.repository("leader", "second").collaborators.put("member", 7L);
+        simulator.clearRequests();
+
+        Map<String, RepositoryState> states = gitHubClient.getRepositoryStates(user, List.of("first", "second", "missing"));
+
+        assertThat(simulator.requests()).containsExactly("POST /graphql");
+        assertThat(states.get("first").getStatus()).isEqualTo(RepositoryStatus.EXISTS);
+        assertThat(states.get("first").getRepositoryId()).isEqualTo(first.getId());
+        assertThat(states.get("second").getCollaborators()).extracting(CollaboratorResponse::getLogin).containsExactlyInAnyOrder("leader", "member");
+        assertThat(states.get("missing").getStatus()).isEqualTo(RepositoryStatus.NOT_EXISTS);
+
+        simulator.failNext("POST", 502, 1);
+        assertThat(gitHubClient.getRepositoryStates(user, List.of("first")).get("first").getStatus()).isEqualTo(RepositoryStatus.UNKNOWN);
+    }
+
+    @Test
+    void exchangesCodeForUser() {
+        SimUser login = simulator.addUser("newbie");
+
+        String accessToken = gitHubClient.getAccessToken("client", "secret", "newbie").getAccess_token();
+
+        assertThat(accessToken).isEqualTo(login.token);
+        assertThat(gitHubClient.getUser(accessToken).getLogin()).isEqualTo("newbie");
+    }
+
+    //
+    // private
+    //
+
+    private long timerCount(String operation, String status, String retry) {
+        return meterRegistry.get("github.requests").tag("operation", operation).tag("status", status).tag("retry", retry).timer().count();
+    }
+
+    private User user(SimUser simUser) {
+        return new User(String.valueOf(simUser.id), simUser.login, simUser.token, null);
+    }
+
+    @TestConfiguration
+    @ImportAutoConfiguration({JacksonAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class, RestTemplateAutoConfiguration.class})
+    static class TestConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
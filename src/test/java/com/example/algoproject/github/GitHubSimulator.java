@@ -0,0 +1,460 @@
+package com.example.algoproject.github;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+ * 테스트에서 쓰는 github api 시뮬레이터. 실제로 호출하는 endpoint 만 흉내 내고 repository 상태를 메모리에 들고 있다.
+ * - github.api-url / github.oauth-url 을 baseUrl() 로 바꾸면 GitHubClient 가 이쪽으로 요청을 보낸다
+ * - delay(), failNext() 로 응답 지연, 5xx, 403 rate limit, 422 충돌을 주입할 수 있다
+ * - GET 응답에는 body 로 만든 ETag 를 붙이고, If-None-Match 가 같으면 304 로 응답한다
+ * - 테스트가 끝나면 reset() 으로 지연, fault, 요청 기록을 지우고 아직 응답 중인 요청이 끝날 때까지 기다린다
+ */
+public class GitHubSimulator {
+
+    private static final Pattern REPOSITORY_BY_ID = Pattern.compile("/repositories/(\\d+)");
+    private static final Pattern REPOSITORY = Pattern.compile("/repos/([^/]+)/([^/]+)(/.*)?");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+
+    private final AtomicLong ids = new AtomicLong(1000);
+    private final Map<String, SimUser> usersByToken = new ConcurrentHashMap<>();
+    private final Map<String, SimRepository> repositories = new ConcurrentHashMap<>(); // owner/name -> repository
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final Deque<Fault> faults = new ArrayDeque<>();
+
+    // reset() 마다 증가. 이전 테스트에서 들어온 요청은 지연 중에 세대가 바뀌면 응답하지 않고 끝낸다
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile long delayMillis;
+
+    public GitHubSimulator() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    //
+    // 테스트 설정
+    //
+
+    // 로그인 code 로 발급될 토큰과 그 토큰의 유저를 등록
+    public SimUser addUser(String login) {
+        SimUser user = new SimUser(ids.incrementAndGet(), login, "token-" + login);
+        usersByToken.put(user.token, user);
+        return user;
+    }
+
+    // 모든 응답을 지정한 시간만큼 늦게 보낸다
+    public void delay(long millis) {
+        this.delayMillis = millis;
+    }
+
+    // 다음 count 번의 요청에 status 로 응답한다. (method == null 이면 모든 요청)
+    public void failNext(String method, int status, int count) {
+        failNext(method, status, count, Map.of());
+    }
+
+    public void failNext(String method, int status, int count, Map<String, String> headers) {
+        synchronized (faults) {
+            for (int i = 0; i < count; i++)
+                faults.add(new Fault(method, status, headers));
+        }
+    }
+
+    // 남은 사용량 0 으로 403 (primary rate limit)
+    public void exhaustRateLimit(long resetEpochSeconds) {
+        failNext(null, 403, 1, Map.of("X-RateLimit-Limit", "5000", "X-RateLimit-Remaining", "0",
+                "X-RateLimit-Reset", String.valueOf(resetEpochSeconds)));
+    }
+
+    public SimRepository repository(String owner, String name) {
+        return repositories.get(owner + "/" + name);
+    }
+
+    // "GET /repos/..." 형태로 받은 요청 기록
+    public List<String> requests() {
+        return new ArrayList<>(requests);
+    }
+
+    public long count(String method, String pathPrefix) {
+        return requests.stream().filter(r -> r.startsWith(method + " " + pathPrefix)).count();
+    }
+
+    public void clearRequests() {
+        requests.clear();
+    }
+
+    public void clearFaults() {
+        synchronized (faults) {
+            faults.clear();
+        }
+    }
+
+    // 지연 중인 요청을 끝내고 (클라이언트는 이미 타임아웃) 다음 테스트에 남는 상태를 지운다
+    public void reset() {
+        delayMillis = 0;
+        generation.incrementAndGet();
+
+        long deadline = System.currentTimeMillis() + 2000;
+        while (inFlight.get() > 0 && System.currentTimeMillis() < deadline)
+            sleep(10);
+
+        clearFaults();
+        clearRequests();
+    }
+
+    //
+    // private
+    //
+
+    private void handle(HttpExchange exchange) throws IOException {
+        long started = generation.get();
+        inFlight.incrementAndGet();
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            requests.add(method + " " + path);
+
+            if (!await(delayMillis, started))
+                return; // reset() 이후에는 fault 를 소비하지 않고 연결만 닫는다
+
+            Fault fault = nextFault(method);
+            if (fault != null) {
+                fault.headers.forEach((k, v) -> exchange.getResponseHeaders().set(k, v));
+                respond(exchange, fault.status, Map.of("message", "injected fault"));
+                return;
+            }
+
+            route(exchange, method, path);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    // 지연을 짧게 나눠 기다리면서 reset() 되었는지 확인한다
+    private boolean await(long millis, long started) {
+        long until = System.currentTimeMillis() + millis;
+        while (generation.get() == started && System.currentTimeMillis() < until)
+            sleep(Math.max(1, Math.min(10, until - System.currentTimeMillis())));
+        return generation.get() == started;
+    }
+
+    private Fault nextFault(String method) {
+        synchronized (faults) {
+            Fault fault = faults.peek();
+            if (fault == null || (fault.method != null && !fault.method.equals(method)))
+                return null;
+            return faults.poll();
+        }
+    }
+
+    private void route(HttpExchange exchange, String method, String path) throws IOException {
+        if (path.equals("/login/oauth/access_token") && method.equals("POST")) {
+            accessToken(exchange);
+            return;
+        }
+
+        SimUser user = authenticate(exchange);
+        if (user == null) {
+            respond(exchange, 401, Map.of("message", "Bad credentials"));
+            return;
+        }
+
+        if (path.equals("/user") && method.equals("GET")) {
+            respond(exchange, 200, Map.of("id", user.id, "login", user.login, "avatar_url", "https://avatars.example/" + user.login));
+            return;
+        }
+
+        if (path.equals("/user/repos") && method.equals("POST")) {
+            createRepository(exchange, user);
+            return;
+        }
+
+        if (path.equals("/graphql") && method.equals("POST")) {
+            graphql(exchange);
+            return;
+        }
+
+        Matcher byId = REPOSITORY_BY_ID.matcher(path);
+        if (byId.matches() && method.equals("GET")) {
+            long id = Long.parseLong(byId.group(1));
+            Optional<SimRepository> found = repositories.values().stream().filter(r -> r.id == id).findFirst();
+            if (found.isPresent())
+                respond(exchange, 200, found.get().toJson());
+            else
+                respond(exchange, 404, Map.of("message", "Not Found"));
+            return;
+        }
+
+        Matcher repo = REPOSITORY.matcher(path);
+        if (repo.matches()) {
+            SimRepository repository = repository(repo.group(1), repo.group(2));
+            if (repository == null) {
+                respond(exchange, 404, Map.of("message", "Not Found"));
+                return;
+            }
+            repositoryRoute(exchange, method, repository, repo.group(3) == null ? "" : repo.group(3));
+            return;
+        }
+
+        respond(exchange, 404, Map.of("message", "Not Found"));
+    }
+
+    private void repositoryRoute(HttpExchange exchange, String method, SimRepository repository, String sub) throws IOException {
+        synchronized (repository) {
+            if (sub.isEmpty() && method.equals("GET")) {
+                respond(exchange, 200, repository.toJson());
+            } else if (sub.isEmpty() && method.equals("DELETE")) {
+                repositories.remove(repository.owner + "/" + repository.name);
+                respond(exchange, 204, null);
+            } else if (sub.startsWith("/branches/") && method.equals("GET")) {
+                respond(exchange, 200, Map.of("name", repository.defaultBranch, "commit", Map.of(
+                        "sha", repository.head, "commit", Map.of("tree", Map.of("sha", "tree-" + repository.head)))));
+            } else if (sub.equals("/git/trees") && method.equals("POST")) {
+                createTree(exchange, repository);
+            } else if (sub.equals("/git/commits") && method.equals("POST")) {
+                JsonNode body = readBody(exchange);
+                String sha = "commit-" + ids.incrementAndGet();
+                repository.commits.put(sha, new SimCommit(body.get("tree").asText(), body.get("parents").get(0).asText(), body.get("message").asText()));
+                respond(exchange, 201, Map.of("sha", sha));
+            } else if (sub.startsWith("/git/refs/heads/") && method.equals("PATCH")) {
+                updateReference(exchange, repository);
+            } else if (sub.equals("/collaborators") && method.equals("GET")) {
+                List<Map<String, Object>> collaborators = new ArrayList<>();
+                repository.collaborators.forEach((login, id) -> collaborators.add(Map.of("id", id, "login", login)));
+                respond(exchange, 200, collaborators);
+            } else if (sub.startsWith("/collaborators/") && method.equals("PUT")) {
+                repository.invitations.add(sub.substring("/collaborators/".length()));
+                respond(exchange, 201, Map.of());
+            } else if (sub.equals("/hooks") && method.equals("POST")) {
+                repository.hooks.add(readBody(exchange).get("config").get("url").asText());
+                respond(exchange, 201, Map.of("id", ids.incrementAndGet()));
+            } else {
+                respond(exchange, 404, Map.of("message", "Not Found"));
+            }
+        }
+    }
+
+    private void accessToken(HttpExchange exchange) throws IOException {
+        JsonNode body = readBody(exchange);
+        SimUser user = usersByToken.get("token-" + body.path("code").asText());
+        if (user == null)
+            respond(exchange, 200, Map.of("error", "bad_verification_code"));
+        else
+            respond(exchange, 200, Map.of("access_token", user.token, "scope", "repo", "token_type", "bearer"));
+    }
+
+    private void createRepository(HttpExchange exchange, SimUser user) throws IOException {
+        String name = readBody(exchange).get("name").asText();
+        String key = user.login + "/" + name;
+        if (repositories.containsKey(key)) {
+            respond(exchange, 422, Map.of("message", "Repository creation failed."));
+            return;
+        }
+
+        SimRepository repository = new SimRepository(ids.incrementAndGet(), user.login, name);
+        repository.collaborators.put(user.login, user.id);
+        repositories.put(key, repository);
+        respond(exchange, 201, repository.toJson());
+    }
+
+    /*
+     * StudyReconciler 가 보내는 repository 조회만 흉내 낸다. 변수 o{i}, n{i} 의 repository 를 alias r{i} 로 돌려주고,
+     * 없는 repository 는 data 에 null, errors 에 NOT_FOUND 로 응답한다
+     */
+    private void graphql(HttpExchange exchange) throws IOException {
+        JsonNode variables = readBody(exchange).path("variables");
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        List<Map<String, Object>> errors = new ArrayList<>();
+        for (int i = 0; variables.has("o" + i); i++) {
+            String alias = "r" + i;
+            SimRepository repository = repository(variables.get("o" + i).asText(), variables.get("n" + i).asText());
+            if (repository == null) {
+                data.put(alias, null);
+                errors.add(Map.of("type", "NOT_FOUND", "path", List.of(alias)));
+                continue;
+            }
+
+            List<Map<String, Object>> nodes = new ArrayList<>();
+            repository.collaborators.forEach((login, id) -> nodes.add(Map.of("databaseId", id, "login", login)));
+            data.put(alias, Map.of("databaseId", repository.id, "collaborators", Map.of("nodes", nodes)));
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("data", data);
+        if (!errors.isEmpty())
+            response.put("errors", errors);
+        respond(exchange, 200, response);
+    }
+
+    private void createTree(HttpExchange exchange, SimRepository repository) throws IOException {
+        JsonNode body = readBody(exchange);
+        Map<String, String> tree = new LinkedHashMap<>();
+        for (JsonNode entry : body.get("tree"))
+            tree.put(entry.get("path").asText(), entry.get("content").asText());
+
+        String sha = "tree-" + ids.incrementAndGet();
+        repository.trees.put(sha, tree);
+        respond(exchange, 201, Map.of("sha", sha));
+    }
+
+    // fast-forward 가 아니면 422
+    private void updateReference(HttpExchange exchange, SimRepository repository) throws IOException {
+        String sha = readBody(exchange).get("sha").asText();
+        SimCommit commit = repository.commits.get(sha);
+        if (commit == null || !commit.parent.equals(repository.head)) {
+            respond(exchange, 422, Map.of("message", "Update is not a fast forward"));
+            return;
+        }
+
+        repository.files.putAll(repository.trees.getOrDefault(commit.tree, Map.of()));
+        repository.head = sha;
+        repository.commitMessages.add(commit.message);
+        respond(exchange, 200, Map.of("object", Map.of("sha", sha)));
+    }
+
+    private SimUser authenticate(HttpExchange exchange) {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization == null || !authorization.startsWith("token "))
+            return null;
+        return usersByToken.get(authorization.substring("token ".length()));
+    }
+
+    private JsonNode readBody(HttpExchange exchange) throws IOException {
+        byte[] body = exchange.getRequestBody().readAllBytes();
+        return body.length == 0 ? objectMapper.createObjectNode() : objectMapper.readTree(body);
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+
+        // 같은 body 는 같은 ETag. 클라이언트가 보낸 ETag 와 같으면 body 없이 304
+        if (status == 200 && exchange.getRequestMethod().equals("GET")) {
+            String etag = "\"" + sha(new String(bytes, StandardCharsets.UTF_8)) + "\"";
+            exchange.getResponseHeaders().set("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.getResponseHeaders().set("Connection", "close"); // jdk HttpServer 가 304 뒤의 keep-alive 연결을 제대로 이어가지 못한다
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+        }
+
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private String sha(String content) {
+        return Integer.toHexString(content.hashCode());
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static class SimUser {
+
+        public final long id;
+        public final String login;
+        public final String token;
+
+        SimUser(long id, String login, String token) {
+            this.id = id;
+            this.login = login;
+            this.token = token;
+        }
+    }
+
+    public static class SimRepository {
+
+        public final long id;
+        public final String owner;
+        public final String name;
+        public final String defaultBranch = "main";
+        public final Map<String, String> files = new ConcurrentHashMap<>();
+        public final Map<String, Long> collaborators = new ConcurrentHashMap<>();
+        public final List<String> invitations = new CopyOnWriteArrayList<>();
+        public final List<String> hooks = new CopyOnWriteArrayList<>();
+        public final List<String> commitMessages = new CopyOnWriteArrayList<>();
+
+        private final Map<String, Map<String, String>> trees = new HashMap<>();
+        private final Map<String, SimCommit> commits = new HashMap<>();
+        private String head = "commit-initial";
+
+        SimRepository(long id, String owner, String name) {
+            this.id = id;
+            this.owner = owner;
+            this.name = name;
+        }
+
+        Map<String, Object> toJson() {
+            return Map.of("id", id, "name", name, "full_name", owner + "/" + name,
+                    "html_url", "https://github.com/" + owner + "/" + name, "default_branch", defaultBranch);
+        }
+    }
+
+    private static class SimCommit {
+
+        final String tree;
+        final String parent;
+        final String message;
+
+        SimCommit(String tree, String parent, String message) {
+            this.tree = tree;
+            this.parent = parent;
+            this.message = message;
+        }
+    }
+
+    private static class Fault {
+
+        final String method;
+        final int status;
+        final Map<String, String> headers;
+
+        Fault(String method, int status, Map<String, String> headers) {
+            this.method = method;
+            this.status = status;
+            this.headers = headers;
+        }
+    }
+}
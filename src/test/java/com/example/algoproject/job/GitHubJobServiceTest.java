@@ -0,0 +1,70 @@
+package com.example.algoproject.job;
+
+import com.example.algoproject.job.domain.GitHubJob;
+import com.example.algoproject.job.domain.JobStatus;
+import com.example.algoproject.job.domain.JobType;
+import com.example.algoproject.job.repository.GitHubJobRepository;
+import com.example.algoproject.job.service.GitHubJobService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 실패 메세지가 last_error 컬럼보다 길어도 실패가 기록되어 재시도, DEAD 로 넘어가는지 확인한다.
+ * 서비스 호출마다 transaction 이 커밋되도록 테스트 transaction 없이 실행한다.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:job;MODE=MySQL;NON_KEYWORDS=USER,START,END,VALUE",
+        "github.job.max-attempts=2",
+        "github.job.backoff-ms=0"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({GitHubJobService.class, ObjectMapper.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class GitHubJobServiceTest {
+
+    @Autowired
+    private GitHubJobService gitHubJobService;
+
+    @Autowired
+    private GitHubJobRepository gitHubJobRepository;
+
+    @Test
+    void recordsFailureWithLongMessage() {
+        gitHubJobService.enqueue(JobType.COMMIT_SOLUTION, "1", Map.of());
+        String error = "x".repeat(5000);
+
+        Long jobId = claimOne().getId();
+        assertThat(gitHubJobService.fail(jobId, error)).isFalse();
+
+        GitHubJob retried = gitHubJobRepository.findById(jobId).orElseThrow();
+        assertThat(retried.getStatus()).isEqualTo(JobStatus.PENDING);
+        assertThat(retried.getAttempts()).isEqualTo(1);
+        assertThat(retried.getLastError()).isEqualTo(error.substring(0, 1000));
+
+        // 두 번째 실패에서 max-attempts 에 닿으면 DEAD
+        assertThat(claimOne().getId()).isEqualTo(jobId);
+        assertThat(gitHubJobService.fail(jobId, error)).isTrue();
+
+        GitHubJob dead = gitHubJobRepository.findById(jobId).orElseThrow();
+        assertThat(dead.getStatus()).isEqualTo(JobStatus.DEAD);
+        assertThat(dead.getAttempts()).isEqualTo(2);
+        assertThat(dead.getLastError()).hasSize(1000);
+    }
+
+    //
+    // private
+    //
+
+    private GitHubJob claimOne() {
+        return gitHubJobService.claim(1).get(0);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.algoproject.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * /actuator/prometheus 는 scrape 전용 토큰으로만 열리고, 토큰을 설정하지 않으면 닫혀 있는지 확인한다
+ */
+class MetricsScrapeFilterTest {
+
+    private static final String TOKEN = "scrape-token";
+
+    @Test
+    void passesMatchingToken() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = scrape(TOKEN, "Bearer " + TOKEN, chain);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    void rejectsOtherCredentials() throws Exception {
+        for (String authorization : new String[]{null, "Bearer wrong", "Basic " + TOKEN, TOKEN}) {
+            MockFilterChain chain = new MockFilterChain();
+            MockHttpServletResponse response = scrape(TOKEN, authorization, chain);
+
+            assertThat(response.getStatus()).isEqualTo(401);
+            assertThat(chain.getRequest()).isNull();
+        }
+    }
+
+    @Test
+    void rejectsEverythingWithoutConfiguredToken() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = scrape("", "Bearer ", chain);
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    //
+    // private
+    //
+
+    private MockHttpServletResponse scrape(String configured, String authorization, MockFilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/prometheus");
+        if (authorization != null)
+            request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new MetricsScrapeFilter(configured, new ObjectMapper()).doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.algoproject.solution;
+
+import com.example.algoproject.errors.exception.FailedStorageException;
+import com.example.algoproject.errors.response.ResponseService;
+import com.example.algoproject.errors.response.SingleResponse;
+import com.example.algoproject.github.GitHubClient;
+import com.example.algoproject.job.service.GitHubJobService;
+import com.example.algoproject.problem.service.ProblemService;
+import com.example.algoproject.solution.dto.response.SolutionInfo;
+import com.example.algoproject.solution.service.SolutionContentBackfill;
+import com.example.algoproject.solution.service.SolutionService;
+import com.example.algoproject.storage.ContentStorage;
+import com.example.algoproject.storage.ContentStore;
+import com.example.algoproject.user.service.UserService;
+import com.example.algoproject.util.GitHashUtil;
+import com.example.algoproject.util.PathUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * V3 이전 풀이 (code, read_me 컬럼에 본문이 있는 row) 를 옮기기 전후로 읽을 수 있는지, 옮기지 못한 풀이가 다른 풀이를 막지 않는지 확인한다
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:backfill;MODE=MySQL;NON_KEYWORDS=USER,START,END,VALUE",
+        "spring.jpa.database-platform=org.hibernate.dialect.MySQL8Dialect",
+        "storage.backfill.batch-size=2"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({SolutionService.class, SolutionContentBackfill.class, ResponseService.class, PathUtil.class, GitHashUtil.class,
+        SolutionContentBackfillTest.TestConfig.class})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD) // backfill 은 한 번 끝나면 다시 돌지 않는다
+class SolutionContentBackfillTest {
+
+    private static final String BROKEN = "저장소에 쓸 수 없는 본문";
+
+    @Autowired
+    private SolutionService solutionService;
+
+    @Autowired
+    private SolutionContentBackfill backfill;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private ProblemService problemService;
+
+    @MockBean
+    private GitHubClient gitHubClient;
+
+    @MockBean
+    private GitHubJobService gitHubJobService;
+
+    @Test
+    void readsLegacyColumnsUntilMoved() {
+        long id = insertLegacy("class Main {}", "# README");
+
+        assertThat(detail(id).getCode()).isEqualTo("class Main {}");
+        assertThat(detail(id).getReadMe()).isEqualTo("# README");
+
+        runBackfill();
+
+        assertThat(jdbcTemplate.queryForObject("select code from solution where solution_id = ?", String.class, id)).isNull();
+        assertThat(detail(id).getCode()).isEqualTo("class Main {}");
+        assertThat(detail(id).getReadMe()).isEqualTo("# README");
+    }
+
+    @Test
+    void skipsSolutionsThatFailToMove() {
+        long first = insertLegacy("first", null);
+        long broken = insertLegacy(BROKEN, null);
+        long last = insertLegacy("last", "# last");
+
+        runBackfill();
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from solution where code_key is not null", Long.class)).isEqualTo(2);
+        assertThat(detail(first).getCode()).isEqualTo("first");
+        assertThat(detail(last).getReadMe()).isEqualTo("# last");
+        // 옮기지 못한 풀이는 컬럼에서 읽는다
+        assertThat(detail(broken).getCode()).isEqualTo(BROKEN);
+    }
+
+    //
+    // private
+    //
+
+    private long insertLegacy(String code, String readMe) {
+        jdbcTemplate.update("insert into solution (code, read_me, language) values (?, ?, 0)", code, readMe);
+        return jdbcTemplate.queryForObject("select max(solution_id) from solution", Long.class);
+    }
+
+    // 한 번 실행에 batch-size 만큼 옮기므로 끝날 때까지 반복
+    private void runBackfill() {
+        for (int i = 0; i < 10; i++)
+            backfill.run();
+    }
+
+    @SuppressWarnings("unchecked")
+    private SolutionInfo detail(long solutionId) {
+        entityManager.clear();
+        return ((SingleResponse<SolutionInfo>) solutionService.detail(null, solutionId)).getData();
+    }
+
+    @TestConfiguration
+    static class TestConfig {
+
+        @Bean
+        ContentStore contentStore() {
+            Map<String, byte[]> contents = new ConcurrentHashMap<>();
+            ContentStorage storage = new ContentStorage() {
+                @Override
+                public void put(String key, byte[] content) {
+                    if (new String(content, StandardCharsets.UTF_8).equals(BROKEN))
+                        throw new FailedStorageException(new IOException("broken"));
+                    contents.put(key, content);
+                }
+
+                @Override
+                public InputStream open(String key) {
+                    return new ByteArrayInputStream(contents.get(key));
+                }
+            };
+            return new ContentStore(storage, "solutions/", 1024, 1024, new SimpleMeterRegistry());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.algoproject.storage;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 로컬 파일 저장소에 붙여서 본문 저장, 읽기, 캐시를 확인한다
+ */
+class ContentStoreTest {
+
+    @TempDir
+    Path root;
+
+    private MeterRegistry meterRegistry;
+
+    private ContentStore contentStore;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        contentStore = new ContentStore(new LocalContentStorage(root), "solutions/", 1024, 256, meterRegistry);
+    }
+
+    @Test
+    void storesContentUnderHashKey() throws IOException {
+        StoredContent stored = contentStore.save("class Main {} // 한글");
+
+        assertThat(stored.getSize()).isEqualTo("class Main {} // 한글".getBytes(StandardCharsets.UTF_8).length);
+        assertThat(stored.getKey()).isEqualTo("solutions/" + stored.getHash().substring(0, 2) + "/" + stored.getHash());
+        assertThat(Files.readString(root.resolve(stored.getKey()))).isEqualTo("class Main {} // 한글");
+
+        assertThat(contentStore.save("class Main {} // 한글").getKey()).isEqualTo(stored.getKey());
+        assertThat(contentStore.save(null)).isNull();
+    }
+
+    @Test
+    void readsFromStorageOnceThenFromCache() throws IOException {
+        StoredContent stored = contentStore.save("# README");
+
+        // 다른 서버에서 저장한 본문처럼 캐시가 빈 상태에서 읽는다
+        ContentStore other = new ContentStore(new LocalContentStorage(root), "solutions/", 1024, 256, meterRegistry);
+        assertThat(other.read(stored)).isEqualTo("# README");
+
+        Files.delete(root.resolve(stored.getKey()));
+        assertThat(other.read(stored)).isEqualTo("# README");
+        assertThat(meterRegistry.get("storage.cache.requests").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondMaxBytes() {
+        for (int i = 0; i < 8; i++)
+            contentStore.save(String.valueOf(i).repeat(200));
+
+        assertThat(meterRegistry.get("storage.cache.bytes").gauge().value()).isLessThanOrEqualTo(1024);
+
+        // 한 개가 max-entry-bytes 를 넘는 본문은 캐시에 넣지 않는다
+        contentStore.save("x".repeat(300));
+        assertThat(meterRegistry.get("storage.cache.bytes").gauge().value()).isLessThanOrEqualTo(1024);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.algoproject.user;
+
+import com.example.algoproject.errors.exception.NotValidRefreshTokenException;
+import com.example.algoproject.user.service.RefreshTokenService;
+import com.example.algoproject.user.service.RefreshTokenService.Rotated;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+ * refresh token rotation 과 재사용 감지를 확인한다.
+ * 서비스 호출마다 transaction 이 커밋되도록 테스트 transaction 없이 실행한다.
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:refresh;MODE=MySQL;NON_KEYWORDS=USER,START,END,VALUE")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(RefreshTokenService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RefreshTokenServiceTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rotatesToNewToken() {
+        String token = refreshTokenService.issue("1");
+
+        Rotated rotated = refreshTokenService.rotate(token);
+
+        assertThat(rotated.userId()).isEqualTo("1");
+        assertThat(rotated.refreshToken()).isNotEqualTo(token);
+        assertThat(refreshTokenService.rotate(rotated.refreshToken()).userId()).isEqualTo("1");
+    }
+
+    @Test
+    void reusedTokenRevokesWholeFamily() {
+        String token = refreshTokenService.issue("1");
+        String next = refreshTokenService.rotate(token).refreshToken();
+        String other = refreshTokenService.issue("1"); // 다른 로그인
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(token)).isInstanceOf(NotValidRefreshTokenException.class);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(next)).isInstanceOf(NotValidRefreshTokenException.class);
+        assertThat(refreshTokenService.rotate(other).userId()).isEqualTo("1");
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+        String token = refreshTokenService.issue("1");
+        // 방금 발급한 token 만 만료시킨다
+        jdbcTemplate.update("update refresh_token set expires_at = ? where refresh_token_id = (select max(refresh_token_id) from refresh_token)",
+                new Timestamp(System.currentTimeMillis() - 1000));
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(token)).isInstanceOf(NotValidRefreshTokenException.class);
+    }
+
+    @Test
+    void rejectsUnknownToken() {
+        assertThatThrownBy(() -> refreshTokenService.rotate("unknown")).isInstanceOf(NotValidRefreshTokenException.class);
+    }
+
+    // 같은 token 으로 동시에 rotate 하면 하나만 성공하고, 재사용으로 보고 family 를 폐기한다
+    @Test
+    void concurrentRotationDoesNotForkFamily() throws Exception {
+        for (int round = 0; round < 10; round++) {
+            String token = refreshTokenService.issue("1");
+
+            int threads = 4;
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            List<Future<Rotated>> results = new ArrayList<>();
+            try {
+                for (int i = 0; i < threads; i++)
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        return refreshTokenService.rotate(token);
+                    }));
+                start.countDown();
+
+                List<Rotated> succeeded = new ArrayList<>();
+                for (Future<Rotated> result : results) {
+                    try {
+                        succeeded.add(result.get());
+                    } catch (Exception e) {
+                        assertThat(e.getCause()).isInstanceOf(NotValidRefreshTokenException.class);
+                    }
+                }
+
+                assertThat(succeeded).hasSize(1);
+                for (Rotated rotated : succeeded)
+                    assertThatThrownBy(() -> refreshTokenService.rotate(rotated.refreshToken())).isInstanceOf(NotValidRefreshTokenException.class);
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.algoproject.webhook;
+
+import com.example.algoproject.belongsto.service.BelongsToService;
+import com.example.algoproject.errors.GlobalExceptionHandler;
+import com.example.algoproject.errors.response.ResponseService;
+import com.example.algoproject.study.service.StudyService;
+import com.example.algoproject.webhook.controller.WebhookController;
+import com.example.algoproject.webhook.repository.WebhookDeliveryRepository;
+import com.example.algoproject.webhook.service.WebhookService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+/*
+ * github 에서 실제로 받은 webhook payload (src/test/resources/webhook) 를 서명해서 endpoint 로 보내본다
+ */
+class WebhookControllerTest {
+
+    private static final String SECRET = "test-secret";
+
+    private final WebhookDeliveryRepository webhookDeliveryRepository = mock(WebhookDeliveryRepository.class);
+    private final StudyService studyService = mock(StudyService.class);
+    private final BelongsToService belongsToService = mock(BelongsToService.class);
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ResponseService responseService = new ResponseService();
+        WebhookService webhookService = new WebhookService(webhookDeliveryRepository, studyService, belongsToService, responseService, new ObjectMapper());
+        ReflectionTestUtils.setField(webhookService, "secret", SECRET);
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new WebhookController(webhookService))
+                .setControllerAdvice(new GlobalExceptionHandler(responseService))
+                .build();
+    }
+
+    @Test
+    void memberAddedAcceptsInvitation() throws Exception {
+        byte[] body = load("member-added.json");
+
+        send("member", "delivery-1", sign(body), body)
+                .andExpect(jsonPath("$.status").value(200));
+
+        verify(belongsToService).acceptInvitation("518350119", "583231");
+        verify(webhookDeliveryRepository).save(any());
+    }
+
+    @Test
+    void repositoryDeletedDeletesStudy() throws Exception {
+        byte[] body = load("repository-deleted.json");
+
+        send("repository", "delivery-2", sign(body), body)
+                .andExpect(jsonPath("$.status").value(200));
+
+        verify(studyService).deleteStudy("518350119");
+    }
+
+    @Test
+    void repositoryRenamedUpdatesStudy() throws Exception {
+        byte[] body = load("repository-renamed.json");
+
+        send("repository", "delivery-3", sign(body), body)
+                .andExpect(jsonPath("$.status").value(200));
+
+        verify(studyService).renameRepository("518350119", "algo-study-2022", "https://github.com/leader/algo-study-2022");
+    }
+
+    @Test
+    void invalidSignatureIsRejected() throws Exception {
+        byte[] body = load("repository-deleted.json");
+
+        send("repository", "delivery-4", "sha256=" + "0".repeat(64), body)
+                .andExpect(jsonPath("$.status").value(401));
+        send("repository", "delivery-5", null, body)
+                .andExpect(jsonPath("$.status").value(401));
+
+        verifyNoInteractions(studyService, webhookDeliveryRepository);
+    }
+
+    @Test
+    void redeliveryIsProcessedOnce() throws Exception {
+        byte[] body = load("member-added.json");
+        when(webhookDeliveryRepository.existsById("delivery-6")).thenReturn(false, true);
+
+        send("member", "delivery-6", sign(body), body);
+        send("member", "delivery-6", sign(body), body)
+                .andExpect(jsonPath("$.status").value(200));
+
+        verify(belongsToService, times(1)).acceptInvitation(anyString(), anyString());
+    }
+
+    //
+    // private
+    //
+
+    private ResultActions send(String event, String deliveryId, String signature, byte[] body) throws Exception {
+        var request = post("/api/github/webhook")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-GitHub-Event", event)
+                .header("X-GitHub-Delivery", deliveryId)
+                .content(body);
+        if (signature != null)
+            request.header("X-Hub-Signature-256", signature);
+        return mockMvc.perform(request);
+    }
+
+    private byte[] load(String name) throws Exception {
+        return new ClassPathResource("webhook/" + name).getInputStream().readAllBytes();
+    }
+
+    private String sign(byte[] body) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        StringBuilder sb = new StringBuilder("sha256=");
+        for (byte b : mac.doFinal(body))
+            sb.append(String.format("%02x", b));
+        return sb.toString();
+    }
+}